@@ -0,0 +1,33 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.domain.util.Aes256Util;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Aes256Benchmark {
+
+    private static final String PLAIN = "user@zerobase.com";
+    private String encrypted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encrypted = Aes256Util.encrypt(PLAIN);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return Aes256Util.encrypt(PLAIN);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return Aes256Util.decrypt(encrypted);
+    }
+}
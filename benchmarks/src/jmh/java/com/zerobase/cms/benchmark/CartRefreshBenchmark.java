@@ -0,0 +1,72 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.application.CartApplication;
+import com.zerobase.cms.order.client.CartRedisRouter;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.config.OrderMetrics;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.service.CartArchiveService;
+import com.zerobase.cms.order.service.CartService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CartApplication.getCart (refreshCart 포함).
+ * stale=true 는 모든 옵션의 가격/수량이 바뀐 장바구니, false 는 변경 없는 장바구니.
+ * 한 번 조회하면 갱신된 장바구니가 다시 저장되므로 고객 BATCH 명의 장바구니를 미리 넣어 두고 한 invocation 에서 모두 조회한다.
+ * (invocation 마다 setup 을 돌려도 측정 시간이 충분히 길어 setup / timestamp 비용이 묻히지 않는다)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(CartRefreshBenchmark.BATCH)
+public class CartRefreshBenchmark {
+    static final int BATCH = 1_000;
+
+    @Param({"1", "10", "100"})
+    private int productCount;
+
+    @Param({"false", "true"})
+    private boolean stale;
+
+    private RedisClient redisClient;
+    private CartApplication cartApplication;
+    private Cart cart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OrderMetrics orderMetrics = new OrderMetrics(new SimpleMeterRegistry());
+        redisClient = new RedisClient(CartRedisRouter.single(new InMemoryRedisTemplate(), null),
+                orderMetrics, Fixtures.cartKeyPolicy());
+        List<Product> products = Fixtures.products(productCount);
+        cartApplication = new CartApplication(
+                new StubProductSearchService(products, orderMetrics),
+                new CartService(redisClient),
+                new StubReactiveCartStore(redisClient, orderMetrics),
+                new CartArchiveService(redisClient, null, Fixtures.cartKeyPolicy(), null),
+                orderMetrics);
+        cart = Fixtures.cart(products, stale);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCarts() {
+        for (int i = 0; i < BATCH; i++) {
+            redisClient.put(Fixtures.CUSTOMER_ID + i, cart);
+        }
+    }
+
+    @Benchmark
+    public void getCart(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(cartApplication.getCart(Fixtures.CUSTOMER_ID + i));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.application.CartRefreshEngine;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.ProductSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 큰 장바구니에서 refresh 루프만 비교한다. (Redis / DB 없이)
+ * removedRatio(%) 만큼의 상품을 스냅샷에서 지우고, 0 이 아니면 남은 상품도 첫 옵션을 지운다.
+ * 모든 옵션의 가격/수량이 바뀐 장바구니(stale)를 쓴다. legacy 는 CartRefreshEngine 이전 구현(LegacyCartRefresh).
+ * refresh 가 장바구니를 바꾸므로 BATCH 개의 사본을 미리 만들어 두고 한 invocation 에서 모두 refresh 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(CartRefreshEngineBenchmark.BATCH)
+public class CartRefreshEngineBenchmark {
+    static final int BATCH = 50;
+
+    @Param({"100", "500", "2000"})
+    private int productCount;
+
+    @Param({"0", "10", "50"})
+    private int removedRatio;
+
+    private Cart source;
+    private Map<Long, ProductSnapshot> snapshots;
+    private Map<Long, Long> versions;
+    private final Cart[] carts = new Cart[BATCH];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Product> products = Fixtures.products(productCount);
+        source = Fixtures.cart(products, true);
+        snapshots = new HashMap<>();
+        versions = new HashMap<>();
+        int removeEvery = removedRatio == 0 ? 0 : 100 / removedRatio;
+        for (Product product : products) {
+            versions.put(product.getId(), 1L);
+            if (removeEvery > 0 && product.getId() % removeEvery == 0) {
+                continue;
+            }
+            ProductSnapshot snapshot = ProductSnapshot.from(product);
+            if (removeEvery > 0) {
+                snapshot.getItems().remove(0);
+            }
+            snapshots.put(product.getId(), snapshot);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCarts() {
+        for (int i = 0; i < BATCH; i++) {
+            carts[i] = source.copy();
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (Cart cart : carts) {
+            blackhole.consume(LegacyCartRefresh.refresh(cart, snapshots, versions));
+        }
+    }
+
+    @Benchmark
+    public void engine(Blackhole blackhole) {
+        for (Cart cart : carts) {
+            blackhole.consume(new CartRefreshEngine().refresh(cart, snapshots, versions));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.client.CartRedisRouter;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.config.OrderMetrics;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.service.CartService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CartService.addCart - 이미 담긴 상품에 같은 옵션을 다시 담는 병합 경로.
+ * 담을 때마다 수량이 늘어나므로 고객 BATCH 명의 장바구니를 미리 넣어 두고 한 invocation 에서 모두 담는다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(CartServiceBenchmark.BATCH)
+public class CartServiceBenchmark {
+    static final int BATCH = 1_000;
+
+    @Param({"1", "10", "100"})
+    private int productCount;
+
+    private InMemoryRedisTemplate redisTemplate;
+    private RedisClient redisClient;
+    private CartService cartService;
+    private Cart cart;
+    private AddProductCartForm form;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisTemplate = new InMemoryRedisTemplate();
+        redisClient = new RedisClient(CartRedisRouter.single(redisTemplate, null),
+                new OrderMetrics(new SimpleMeterRegistry()), Fixtures.cartKeyPolicy());
+        cartService = new CartService(redisClient);
+
+        List<Product> products = Fixtures.products(productCount);
+        cart = Fixtures.cart(products, false);
+        form = Fixtures.addForm(products.get(productCount / 2));
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCarts() {
+        for (int i = 0; i < BATCH; i++) {
+            redisClient.put(Fixtures.CUSTOMER_ID + i, cart);
+        }
+    }
+
+    @Benchmark
+    public void addCartMerge(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(cartService.addCart(Fixtures.CUSTOMER_ID + i, form));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.client.CartKeyPolicy;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.redis.Cart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 입력 데이터. 매 실행 같은 값이 나오도록 난수를 쓰지 않는다.
+ */
+public final class Fixtures {
+    public static final long CUSTOMER_ID = 1L;
+    public static final int ITEMS_PER_PRODUCT = 3;
+
+    private Fixtures() {
+    }
+
+    /**
+     * TTL 30일, 활동 기록 / 버전 없음. (application.properties 기본값)
+     */
+    public static CartKeyPolicy cartKeyPolicy() {
+        return new CartKeyPolicy(30, false, false);
+    }
+
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (long p = 1; p <= count; p++) {
+            Product product = Product.builder()
+                    .id(p)
+                    .sellerId(1L)
+                    .name("product-" + p)
+                    .description("description-" + p)
+                    .productItems(new ArrayList<>())
+                    .build();
+            for (int i = 0; i < ITEMS_PER_PRODUCT; i++) {
+                product.addProductItem(ProductItem.builder()
+                        .id(p * 100 + i)
+                        .sellerId(1L)
+                        .name("item-" + i)
+                        .price(1000 + i)
+                        .count(5)
+                        .build());
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * 상품과 같은 구성의 장바구니. stale 이면 가격/수량이 상품과 달라 refresh 시 모두 갱신된다.
+     */
+    public static Cart cart(List<Product> products, boolean stale) {
+        Cart cart = new Cart(CUSTOMER_ID);
+        for (Product product : products) {
+            List<Cart.ProductItem> items = new ArrayList<>();
+            for (ProductItem item : product.getProductItems()) {
+                items.add(Cart.ProductItem.builder()
+                        .id(item.getId())
+                        .name(item.getName())
+                        .price(stale ? item.getPrice() - 1 : item.getPrice())
+                        .count(stale ? item.getCount() + 1 : 1)
+                        .build());
+            }
+            cart.getProducts().add(Cart.Product.builder()
+                    .id(product.getId())
+                    .sellerId(product.getSellerId())
+                    .name(product.getName())
+                    .description(product.getDescription())
+                    .items(items)
+                    .build());
+        }
+        return cart;
+    }
+
+    public static AddProductCartForm addForm(Product product) {
+        List<AddProductCartForm.ProductItem> items = new ArrayList<>();
+        for (ProductItem item : product.getProductItems()) {
+            items.add(AddProductCartForm.ProductItem.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .price(item.getPrice())
+                    .count(1)
+                    .build());
+        }
+        return AddProductCartForm.builder()
+                .id(product.getId())
+                .sellerId(product.getSellerId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .items(items)
+                .build();
+    }
+}
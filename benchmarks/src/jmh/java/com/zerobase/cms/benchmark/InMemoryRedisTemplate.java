@@ -0,0 +1,126 @@
+package com.zerobase.cms.benchmark;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 네트워크 없이 RedisClient 의 코덱 비용만 재기 위한 RedisTemplate 대역.
+ * opsForValue() 의 get / getAndExpire / set / multiGet, opsForSet() 의 add / members, delete 와
+ * RedisClient 의 compare-and-set 스크립트(execute) 만 지원한다.
+ */
+public class InMemoryRedisTemplate extends RedisTemplate<String, Object> {
+    private final Map<Object, Object> store = new ConcurrentHashMap<>();
+    private final Map<Object, Set<Object>> sets = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> valueOperations = (ValueOperations<String, Object>) Proxy.newProxyInstance(
+            ValueOperations.class.getClassLoader(),
+            new Class<?>[]{ValueOperations.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "get":
+                    case "getAndExpire":
+                        return store.get(args[0]);
+                    case "multiGet":
+                        List<Object> values = new ArrayList<>();
+                        ((Collection<?>) args[0]).forEach(key -> values.add(store.get(key)));
+                        return values;
+                    case "set":
+                        // TTL 은 무시한다.
+                        if (args.length != 2 && !(args.length == 3 && args[2] instanceof Duration)) {
+                            break;
+                        }
+                        if (args[1] == null) {
+                            store.remove(args[0]);
+                        } else {
+                            store.put(args[0], args[1]);
+                        }
+                        return null;
+                    default:
+                }
+                throw new UnsupportedOperationException(method.toString());
+            });
+
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, Object> setOperations = (SetOperations<String, Object>) Proxy.newProxyInstance(
+            SetOperations.class.getClassLoader(),
+            new Class<?>[]{SetOperations.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "add":
+                        Set<Object> members = sets.computeIfAbsent(args[0], key -> ConcurrentHashMap.newKeySet());
+                        long added = Arrays.stream((Object[]) args[1]).filter(members::add).count();
+                        return added;
+                    case "members":
+                        return new HashSet<>(sets.getOrDefault(args[0], Set.of()));
+                    default:
+                }
+                throw new UnsupportedOperationException(method.toString());
+            });
+
+    @Override
+    public ValueOperations<String, Object> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    public SetOperations<String, Object> opsForSet() {
+        return setOperations;
+    }
+
+    @Override
+    public Boolean delete(String key) {
+        return store.remove(key) != null | sets.remove(key) != null;
+    }
+
+    /**
+     * RedisClient.compareAndPut 의 스크립트만 흉내 낸다. (KEYS[1] 값의 sha1 이 ARGV[1] 과 같으면 ARGV[2] 로 바꾼다)
+     * 버전 key 는 쓰지 않는다.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        String key = keys.get(0);
+        Object current = store.get(key);
+        String hash = current == null ? "" : sha1(current.toString());
+        if (!hash.equals(args[0])) {
+            return (T) Long.valueOf(0);
+        }
+        store.put(key, args[1]);
+        return (T) Long.valueOf(1);
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void clear() {
+        store.clear();
+        sets.clear();
+    }
+}
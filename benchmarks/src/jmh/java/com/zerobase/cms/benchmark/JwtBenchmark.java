@@ -0,0 +1,45 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.domain.common.UserType;
+import com.zerobase.domain.common.UserVo;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 인증 요청이 거치는 JWT 발급/검증/파싱.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtAuthenticationProvider provider;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        provider = new JwtAuthenticationProvider(new SimpleMeterRegistry());
+        token = provider.createToken("user@zerobase.com", 1L, UserType.CUSTOMER);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return provider.createToken("user@zerobase.com", 1L, UserType.CUSTOMER);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public UserVo getUserVo() {
+        return provider.getUserVo(token);
+    }
+}
@@ -0,0 +1,92 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.ProductSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * CartRefreshEngine 이전의 refreshCart 루프. (remove + i--, 상품마다 HashMap, 메시지 즉시 생성)
+ * CartRefreshEngineBenchmark 의 비교 대상으로만 남겨 둔다.
+ */
+final class LegacyCartRefresh {
+
+    private LegacyCartRefresh() {
+    }
+
+    static Cart refresh(Cart cart, Map<Long, ProductSnapshot> productMap, Map<Long, Long> versions) {
+        for(int i = 0; i < cart.getProducts().size();i ++) {
+            Cart.Product cartProduct = cart.getProducts().get(i);
+            Long version = versions.get(cartProduct.getId());
+            if (version.equals(cart.getProductVersions().get(cartProduct.getId()))) {
+                continue;
+            }
+            cart.getProductVersions().put(cartProduct.getId(), version);
+
+            ProductSnapshot p = productMap.get(cartProduct.getId());
+            if(p == null) {
+                cart.getProducts().remove(cartProduct);
+                cart.getProductVersions().remove(cartProduct.getId());
+                i--;
+                cart.addMessage(cartProduct.getName() + " 상품이 삭제되었습니다.");
+                continue;
+            }
+
+            Map<Long, ProductSnapshot.Item> productItemMap = p.getItems().stream()
+                    .collect(Collectors.toMap(ProductSnapshot.Item::getId, productItem -> productItem));
+
+            List<String> tmpMessages = new ArrayList<>();
+
+            for(int j = 0; j < cartProduct.getItems().size(); j++) {
+                Cart.ProductItem cartProductItem = cartProduct.getItems().get(j);
+                ProductSnapshot.Item pi = productItemMap.get(cartProductItem.getId());
+
+                if(pi == null) {
+                    cartProduct.getItems().remove(cartProductItem);
+                    j--;
+                    tmpMessages.add(cartProductItem.getName() + " 옵션이 삭제되었습니다.");
+                    continue;
+                }
+
+                boolean isPriceChanged = false, isCountNotEnough = false;
+
+                if(!cartProductItem.getPrice().equals(pi.getPrice())){
+                    isPriceChanged = true;
+                    cartProductItem.setPrice(pi.getPrice());
+                }
+                if(cartProductItem.getCount() > pi.getCount()){
+                    isCountNotEnough = true;
+                    cartProductItem.setCount(pi.getCount());
+                }
+
+                if(isPriceChanged && isCountNotEnough){
+                    tmpMessages.add(cartProductItem.getName() + " 가격변동, 수량이 부족하여 구매 가능한 최대치로 변경되었습니다.");
+                } else if (isPriceChanged) {
+                    tmpMessages.add(cartProductItem.getName() + " 가격이 변동되었습니다.");
+                } else if (isCountNotEnough) {
+                    tmpMessages.add(cartProductItem.getName() + " 수량이 부족하여 구매 가능한 최대치로 변경되었습니다.");
+                }
+            }
+
+            if(cartProduct.getItems().size() == 0) {
+                cart.getProducts().remove(cartProduct);
+                cart.getProductVersions().remove(cartProduct.getId());
+                i--;
+                cart.addMessage(cartProduct.getName() + " 상품의 옵션이 모두 없어져 구매가 불가능 합니다.");
+                continue;
+            } else if(tmpMessages.size() > 0){
+                StringBuilder builder = new StringBuilder();
+                builder.append(cartProduct.getName() + " 상품의 변동 사항 : ");
+                for(String message : tmpMessages){
+                    builder.append(message);
+                    builder.append(", ");
+                }
+                cart.addMessage(builder.toString());
+            }
+        }
+        return cart;
+    }
+}
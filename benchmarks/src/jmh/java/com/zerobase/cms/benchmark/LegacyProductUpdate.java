@@ -0,0 +1,35 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.UpdateProductForm;
+import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
+import com.zerobase.cms.order.exception.CustomException;
+
+import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_ITEM;
+
+/**
+ * ProductItemIndex 이전의 updateProduct 옵션 루프. (수정할 옵션마다 productItems 를 stream 으로 찾는다)
+ * ProductUpdateBenchmark 의 비교 대상으로만 남겨 둔다.
+ */
+final class LegacyProductUpdate {
+
+    private LegacyProductUpdate() {
+    }
+
+    static Product update(Product product, UpdateProductForm form) {
+        product.setName(form.getName());
+        product.setDescription(form.getDescription());
+
+        for(UpdateProductItemForm itemForm : form.getItems()) {
+            ProductItem item = product.getProductItems().stream()
+                    .filter(pi -> pi.getId().equals(itemForm.getId()))
+                    .findFirst().orElseThrow(
+                            () -> new CustomException(NOT_FOUND_ITEM));
+            item.setName(itemForm.getName());
+            item.setPrice(itemForm.getPrice());
+            item.setCount(itemForm.getCount());
+        }
+        return product;
+    }
+}
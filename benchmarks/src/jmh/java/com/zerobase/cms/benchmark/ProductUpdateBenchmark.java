@@ -0,0 +1,103 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.UpdateProductForm;
+import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
+import com.zerobase.cms.order.domain.repository.ProductRepository;
+import com.zerobase.cms.order.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 옵션 itemCount 개인 상품의 모든 옵션을 한 번에 수정한다. (DB 없이 영속성 컨텍스트에 올라온 상태를 흉내낸다)
+ * indexed 는 ProductService.updateProduct (ProductItemIndex), legacy 는 그 이전의 stream 탐색(LegacyProductUpdate).
+ * 수정이 상품을 바꾸므로 invocation 마다 새 상품을 만든다. (색인도 첫 사용 때 새로 만들어지는 비용까지 포함)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductUpdateBenchmark {
+    private static final long SELLER_ID = 1L;
+    private static final long PRODUCT_ID = 1L;
+
+    @Param({"500", "5000"})
+    private int itemCount;
+
+    private UpdateProductForm form;
+    private Product product;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<UpdateProductItemForm> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(UpdateProductItemForm.builder()
+                    .id(itemId(i))
+                    .name("updated-" + i)
+                    .price(2000)
+                    .count(i)
+                    .build());
+        }
+        form = UpdateProductForm.builder()
+                .id(PRODUCT_ID)
+                .name("product")
+                .description("description")
+                .items(items)
+                .build();
+
+        ProductRepository productRepository = (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(),
+                new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findBySellerIdAndId")) {
+                        return Optional.of(product);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        productService = new ProductService(productRepository, event -> {
+        });
+    }
+
+    @Setup(Level.Invocation)
+    public void resetProduct() {
+        product = Product.builder()
+                .id(PRODUCT_ID)
+                .sellerId(SELLER_ID)
+                .name("product")
+                .description("description")
+                .productItems(new ArrayList<>(itemCount))
+                .build();
+        for (int i = 0; i < itemCount; i++) {
+            product.addProductItem(ProductItem.builder()
+                    .id(itemId(i))
+                    .sellerId(SELLER_ID)
+                    .name("item-" + i)
+                    .price(1000)
+                    .count(10)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Product legacy() {
+        return LegacyProductUpdate.update(product, form);
+    }
+
+    @Benchmark
+    public Product indexed() {
+        return productService.updateProduct(SELLER_ID, form);
+    }
+
+    private static long itemId(int i) {
+        return 1_000L + i;
+    }
+}
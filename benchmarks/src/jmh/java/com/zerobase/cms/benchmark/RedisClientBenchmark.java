@@ -0,0 +1,46 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.client.CartRedisRouter;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.config.OrderMetrics;
+import com.zerobase.cms.order.domain.redis.Cart;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisClient 의 JSON 직렬화/역직렬화 비용. (Redis 왕복 제외)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisClientBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int productCount;
+
+    private RedisClient redisClient;
+    private Cart cart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisClient = new RedisClient(CartRedisRouter.single(new InMemoryRedisTemplate(), null),
+                new OrderMetrics(new SimpleMeterRegistry()), Fixtures.cartKeyPolicy());
+        cart = Fixtures.cart(Fixtures.products(productCount), false);
+        redisClient.put(Fixtures.CUSTOMER_ID, cart);
+    }
+
+    @Benchmark
+    public void put() {
+        redisClient.put(Fixtures.CUSTOMER_ID, cart);
+    }
+
+    @Benchmark
+    public Cart get() {
+        return redisClient.get(Fixtures.CUSTOMER_ID, Cart.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.config.OrderMetrics;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.service.ProductSearchService;
+import com.zerobase.cms.order.exception.CustomException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
+
+/**
+ * DB 대신 메모리의 상품 목록을 돌려주는 검색 서비스.
+ */
+public class StubProductSearchService extends ProductSearchService {
+    private final Map<Long, Product> products;
+
+    public StubProductSearchService(List<Product> products, OrderMetrics orderMetrics) {
+        super(null, orderMetrics);
+        this.products = products.stream().collect(Collectors.toMap(Product::getId, product -> product));
+    }
+
+    @Override
+    public Product getByProductId(Long productId) {
+        Product product = products.get(productId);
+        if (product == null) {
+            throw new CustomException(NOT_FOUND_PRODUCT);
+        }
+        return product;
+    }
+
+    @Override
+    public List<Product> getListByProductIds(List<Long> productIds) {
+        return productIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
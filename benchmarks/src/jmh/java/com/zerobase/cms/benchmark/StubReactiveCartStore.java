@@ -0,0 +1,88 @@
+package com.zerobase.cms.benchmark;
+
+import com.zerobase.cms.order.client.CartLocalCache;
+import com.zerobase.cms.order.client.CartRedisRouter;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.client.ReactiveCartStore;
+import com.zerobase.cms.order.config.OrderMetrics;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.ProductSnapshot;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 장바구니는 RedisClient(메모리 템플릿)에서, 상품 스냅샷은 메모리 맵에서 읽는 저장소.
+ */
+public class StubReactiveCartStore extends ReactiveCartStore {
+    private final RedisClient redisClient;
+    private final Map<Long, ProductSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public StubReactiveCartStore(RedisClient redisClient, OrderMetrics orderMetrics) {
+        super(CartRedisRouter.single(null, null), orderMetrics, Fixtures.cartKeyPolicy(),
+                new CartLocalCache(false, 0, 0), 300);
+        this.redisClient = redisClient;
+    }
+
+    @Override
+    public Mono<Cart> getCart(Long customerId) {
+        return getPrimaryCart(customerId);
+    }
+
+    @Override
+    public Mono<Cart> getPrimaryCart(Long customerId) {
+        return Mono.fromSupplier(() -> redisClient.get(customerId, Cart.class));
+    }
+
+    @Override
+    public Mono<Boolean> hasCart(Long customerId) {
+        return getPrimaryCart(customerId).hasElement();
+    }
+
+    @Override
+    public Mono<Map<Long, ProductSnapshot>> getProducts(Collection<Long> productIds) {
+        return Mono.fromSupplier(() -> {
+            Map<Long, ProductSnapshot> found = new HashMap<>();
+            productIds.forEach(id -> {
+                ProductSnapshot snapshot = snapshots.get(id);
+                if (snapshot != null) {
+                    found.put(id, snapshot);
+                }
+            });
+            return found;
+        });
+    }
+
+    @Override
+    public Mono<Map<Long, ProductSnapshot>> getProducts(Collection<Long> productIds, Map<Long, Long> versions) {
+        return getProducts(productIds);
+    }
+
+    @Override
+    public Mono<Void> putProducts(Collection<ProductSnapshot> products) {
+        return Mono.fromRunnable(() -> products.forEach(snapshot -> snapshots.put(snapshot.getId(), snapshot)));
+    }
+
+    @Override
+    public Mono<Void> evictProducts(Collection<Long> productIds) {
+        return Mono.fromRunnable(() -> productIds.forEach(snapshots::remove));
+    }
+
+    @Override
+    public Mono<Map<Long, Long>> getProductVersions(Collection<Long> productIds) {
+        return Mono.fromSupplier(() -> {
+            Map<Long, Long> found = new HashMap<>();
+            productIds.forEach(id -> found.put(id, versions.getOrDefault(id, 0L)));
+            return found;
+        });
+    }
+
+    @Override
+    public Mono<Void> bumpProductVersions(Collection<Long> productIds) {
+        return Mono.fromRunnable(() -> productIds.forEach(id -> versions.merge(id, 1L, Long::sum)));
+    }
+}
@@ -0,0 +1,91 @@
+package com.zerobase.cms.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 엔드포인트 이름 단위로 지연시간을 기록하는 HTTP 클라이언트.
+ * 2xx 가 아니면 오류로 기록하고 ApiException 을 던져 해당 시나리오를 중단시킨다.
+ */
+public class ApiClient {
+    private static final String AUTH_HEADER = "X-AUTH-TOKEN";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EndpointStats stats;
+
+    public ApiClient(EndpointStats stats) {
+        this.stats = stats;
+    }
+
+    public String get(String endpoint, String url, String token) {
+        return send(endpoint, request(url, token).GET().build());
+    }
+
+    public String post(String endpoint, String url, Object body, String token) {
+        return send(endpoint, request(url, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                .build());
+    }
+
+    public JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new ApiException("invalid json response: " + body);
+        }
+    }
+
+    private HttpRequest.Builder request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header(AUTH_HEADER, token);
+        }
+        return builder;
+    }
+
+    private String send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            throw new ApiException(endpoint + " io error: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(endpoint + " interrupted");
+        }
+        boolean success = response.statusCode() / 100 == 2;
+        stats.record(endpoint, System.nanoTime() - start, success);
+        if (!success) {
+            throw new ApiException(endpoint + " " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public static class ApiException extends RuntimeException {
+        public ApiException(String message) {
+            super(message);
+        }
+    }
+}
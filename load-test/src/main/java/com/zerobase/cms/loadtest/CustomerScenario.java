@@ -0,0 +1,118 @@
+package com.zerobase.cms.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 사용자 한 명의 반복 시나리오.
+ * 회원가입 → 이메일 인증 → 로그인 후, 검색 → 상세 → 장바구니 담기 → 장바구니 조회 → 예치금 충전을
+ * SESSIONS_PER_USER 번 반복하고 새 사용자로 다시 시작한다.
+ */
+@RequiredArgsConstructor
+public class CustomerScenario implements Runnable {
+    private static final int SESSIONS_PER_USER = 5;
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final ApiClient api;
+    private final JdbcTemplate userJdbcTemplate;
+    private final String userUrl;
+    private final String orderUrl;
+    private final int productCount;
+    private final long thinkMillis;
+    private final long stopAt;
+
+    @Override
+    public void run() {
+        while (System.currentTimeMillis() < stopAt && !Thread.currentThread().isInterrupted()) {
+            try {
+                String token = signUpAndSignIn();
+                for (int i = 0; i < SESSIONS_PER_USER && System.currentTimeMillis() < stopAt; i++) {
+                    shop(token);
+                }
+            } catch (ApiClient.ApiException e) {
+                // 오류는 EndpointStats 에 기록되었다. 새 사용자로 다시 시작한다.
+            }
+        }
+    }
+
+    private String signUpAndSignIn() {
+        String email = "vu" + SEQUENCE.incrementAndGet() + "@loadtest.com";
+        String password = "password";
+        api.post("POST /signup/customer", userUrl + "/signup/customer", Map.of(
+                "email", email,
+                "name", "loadtest",
+                "password", password,
+                "birth", "1990-01-01",
+                "phone", "010-0000-0000"
+        ), null);
+        think();
+
+        String code = userJdbcTemplate.queryForObject(
+                "select verification_code from customer where email = ?", String.class, email);
+        api.get("GET /signup/customer/verify",
+                userUrl + "/signup/customer/verify?email=" + email + "&code=" + code, null);
+        think();
+
+        return api.post("POST /signIn/customer", userUrl + "/signIn/customer",
+                Map.of("email", email, "password", password), null);
+    }
+
+    private void shop(String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String name = LoadTestMain.productName(random.nextInt(productCount));
+
+        JsonNode products = api.readTree(api.get("GET /search/product",
+                orderUrl + "/search/product?name=" + name, null));
+        think();
+        if (products.size() == 0) {
+            return;
+        }
+        long productId = products.get(random.nextInt(products.size())).get("id").asLong();
+
+        JsonNode product = api.readTree(api.get("GET /search/product/detail",
+                orderUrl + "/search/product/detail?productId=" + productId, null));
+        think();
+
+        JsonNode item = product.get("items").get(random.nextInt(product.get("items").size()));
+        api.post("POST /customer/cart", orderUrl + "/customer/cart", Map.of(
+                "id", productId,
+                "sellerId", 0,
+                "name", product.get("name").asText(),
+                "description", product.get("description").asText(),
+                "items", List.of(Map.of(
+                        "id", item.get("id").asLong(),
+                        "name", item.get("name").asText(),
+                        "count", 1,
+                        "price", item.get("price").asInt()
+                ))
+        ), token);
+        think();
+
+        api.get("GET /customer/cart", orderUrl + "/customer/cart", token);
+        think();
+
+        api.post("POST /customer/balance", userUrl + "/customer/balance", Map.of(
+                "from", "loadtest",
+                "message", "charge",
+                "money", 1000
+        ), token);
+        think();
+    }
+
+    private void think() {
+        if (thinkMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMillis / 2, thinkMillis * 3 / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
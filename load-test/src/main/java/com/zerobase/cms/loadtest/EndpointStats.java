@@ -0,0 +1,81 @@
+package com.zerobase.cms.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 지연시간(HdrHistogram) / 오류 수 집계. 여러 가상 사용자 스레드가 동시에 기록한다.
+ */
+public class EndpointStats {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.nanoTime();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stat = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stat.recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (!success) {
+            stat.errors.increment();
+        }
+    }
+
+    /**
+     * 워밍업 구간의 기록을 버리고 측정을 다시 시작한다.
+     */
+    public void reset() {
+        endpoints.values().forEach(Endpoint::reset);
+        startedAt = System.nanoTime();
+    }
+
+    public String report() {
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-28s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "err%", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            long errors = entry.getValue().errors.sumThenReset();
+            totalRequests += requests;
+            totalErrors += errors;
+            builder.append(String.format("%-28s %9d %8d %6.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), requests, errors, percent(errors, requests), requests / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+        builder.append(String.format("%-28s %9d %8d %6.2f%% %9.1f%n",
+                "TOTAL", totalRequests, totalErrors, percent(totalErrors, totalRequests), totalRequests / seconds));
+        builder.append(String.format("measured %.1fs%n", seconds));
+        return builder.toString();
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Endpoint {
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+
+        private void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+    }
+}
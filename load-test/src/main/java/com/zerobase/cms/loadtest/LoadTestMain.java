@@ -0,0 +1,140 @@
+package com.zerobase.cms.loadtest;
+
+import com.zerobase.cms.order.ZeroOrderApplication;
+import com.zerobase.cms.user.UserApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import redis.embedded.RedisServer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * user-api / order-api 를 한 JVM 에 띄우고 가상 사용자로 부하를 주는 실행기.
+ * DB 는 H2(MySQL 모드), Redis 는 embedded-redis, 메일은 MailgunStub 을 사용하므로 네트워크가 필요 없다.
+ *
+ * 옵션 (system property)
+ * loadtest.users    가상 사용자 수 (기본 50)
+ * loadtest.duration 측정 시간 초 (기본 60)
+ * loadtest.warmup   워밍업 시간 초, 결과에서 제외 (기본 15)
+ * loadtest.products 미리 등록할 상품 수 (기본 100)
+ * loadtest.think    요청 사이 평균 대기 ms (기본 0)
+ * loadtest.async    order-api 비동기 요청 모드 사용 여부 (기본 false)
+ * loadtest.tomcatThreads order-api Tomcat 최대 스레드 수 (기본 200)
+ */
+public class LoadTestMain {
+    private static final int ITEMS_PER_PRODUCT = 5;
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup", 15);
+        int products = Integer.getInteger("loadtest.products", 100);
+        long thinkMillis = Long.getLong("loadtest.think", 0L);
+        boolean async = Boolean.getBoolean("loadtest.async");
+        int tomcatThreads = Integer.getInteger("loadtest.tomcatThreads", 200);
+
+        int redisPort = freePort();
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        MailgunStub mailgunStub = new MailgunStub();
+
+        int userPort = freePort();
+        int orderPort = freePort();
+        ConfigurableApplicationContext userContext = new SpringApplicationBuilder(UserApplication.class)
+                .run("--spring.config.name=loadtest-user",
+                        "--server.port=" + userPort,
+                        "--mailgun.api.url=" + mailgunStub.url());
+        ConfigurableApplicationContext orderContext = new SpringApplicationBuilder(ZeroOrderApplication.class)
+                .run("--spring.config.name=loadtest-order",
+                        "--server.port=" + orderPort,
+                        "--spring.redis.port=" + redisPort,
+                        "--order.async.enabled=" + async,
+                        "--server.tomcat.threads.max=" + tomcatThreads);
+
+        String userUrl = "http://localhost:" + userPort;
+        String orderUrl = "http://localhost:" + orderPort;
+        JdbcTemplate userJdbcTemplate = new JdbcTemplate(userContext.getBean(DataSource.class));
+
+        try {
+            EndpointStats stats = new EndpointStats();
+            ApiClient api = new ApiClient(stats);
+            seedProducts(api, userJdbcTemplate, userUrl, orderUrl, products);
+
+            System.out.printf("users=%d, warmup=%ds, duration=%ds, products=%d, think=%dms, async=%s, tomcatThreads=%d%n",
+                    users, warmupSeconds, durationSeconds, products, thinkMillis, async, tomcatThreads);
+            long stopAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(warmupSeconds + durationSeconds);
+            ExecutorService executor = Executors.newFixedThreadPool(users);
+            for (int i = 0; i < users; i++) {
+                executor.submit(new CustomerScenario(
+                        api, userJdbcTemplate, userUrl, orderUrl, products, thinkMillis, stopAt));
+            }
+
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            stats.reset();
+            executor.shutdown();
+            executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+            executor.shutdownNow();
+
+            System.out.println(stats.report());
+        } finally {
+            orderContext.close();
+            userContext.close();
+            mailgunStub.close();
+            redisServer.stop();
+        }
+        System.exit(0);
+    }
+
+    static String productName(int index) {
+        return "loadtest-product-" + index;
+    }
+
+    /**
+     * 셀러 한 명을 가입시키고 상품을 등록한다. (재고는 부하 중 부족해지지 않을 만큼 넉넉히)
+     */
+    private static void seedProducts(
+            ApiClient api, JdbcTemplate userJdbcTemplate, String userUrl, String orderUrl, int products
+    ) {
+        String email = "seller@loadtest.com";
+        String password = "password";
+        api.post("seed", userUrl + "/signup/seller", Map.of(
+                "email", email,
+                "name", "seller",
+                "password", password,
+                "birth", "1990-01-01",
+                "phone", "010-0000-0000"
+        ), null);
+        String code = userJdbcTemplate.queryForObject(
+                "select verification_code from seller where email = ?", String.class, email);
+        api.get("seed", userUrl + "/signup/seller/verify?email=" + email + "&code=" + code, null);
+        String token = api.post("seed", userUrl + "/signIn/seller",
+                Map.of("email", email, "password", password), null);
+
+        for (int p = 0; p < products; p++) {
+            List<Map<String, Object>> items = new ArrayList<>(ITEMS_PER_PRODUCT);
+            for (int i = 0; i < ITEMS_PER_PRODUCT; i++) {
+                items.add(Map.of("name", "option-" + i, "price", 1000 + i * 100, "count", 10_000_000));
+            }
+            api.post("seed", orderUrl + "/seller/product", Map.of(
+                    "name", productName(p),
+                    "description", "load test product " + p,
+                    "items", items
+            ), token);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -7,12 +7,14 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @ServletComponentScan
 @EnableJpaRepositories(repositoryFactoryBeanClass = JpaRepositoryFactoryBean.class)
 @EnableJpaAuditing
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 public class ZeroOrderApplication {
     public static void main(String[] args) {
         SpringApplication.run(ZeroOrderApplication.class, args);
@@ -0,0 +1,56 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.exception.CustomException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static com.zerobase.cms.order.exception.ErrorCode.REQUEST_OVERLOADED;
+
+/**
+ * 요청 처리를 requestExecutor 로 넘기고 CompletableFuture 로 돌려준다.
+ * 작업 스레드에는 open-in-view 의 EntityManager 가 없으므로 엔티티를 응답으로 바꾸며 지연 로딩하는 요청만
+ * supplyReadOnly 로 읽기 전용 트랜잭션 안에서 끝낸다. 장바구니처럼 쓰기가 있거나 Redis 만 쓰는 요청은
+ * supply 로 넘겨 커넥션을 잡지 않고, 필요한 트랜잭션은 서비스가 연다.
+ */
+@Component
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+public class AsyncRequestExecutor {
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AsyncRequestExecutor(
+            @Qualifier("requestExecutor") Executor executor,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 큐가 가득 차면 기다리지 않고 503(REQUEST_OVERLOADED) 으로 응답한다.
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> supply(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(supplier.get()), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new CustomException(REQUEST_OVERLOADED));
+        }
+    }
+
+    /**
+     * 조회와 응답 변환을 하나의 읽기 전용 트랜잭션으로 묶는다.
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> supplyReadOnly(Supplier<T> supplier) {
+        return supply(() -> readOnlyTransaction.execute(status -> supplier.get()));
+    }
+}
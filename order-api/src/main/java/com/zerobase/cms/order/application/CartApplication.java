@@ -1,43 +1,107 @@
 package com.zerobase.cms.order.application;
 
-import com.zerobase.cms.order.domain.model.Product;
-import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.client.ReactiveCartStore;
+import com.zerobase.cms.order.config.OrderMetrics;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.product.PatchCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartChange;
+import com.zerobase.cms.order.domain.redis.ProductSnapshot;
 import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.service.CartArchiveService;
+import com.zerobase.cms.order.service.CartPricingEngine;
 import com.zerobase.cms.order.service.CartService;
 import com.zerobase.cms.order.service.ProductSearchService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.zerobase.cms.order.exception.ErrorCode.CART_CHANGE_FAIL;
 import static com.zerobase.cms.order.exception.ErrorCode.ITEM_COUNT_NOT_ENOUGH;
+import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_CART_ITEM;
+import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_ITEM;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CartApplication {
     private final ProductSearchService productSearchService;
     private final CartService cartService;
+    private final ReactiveCartStore cartStore;
+    private final CartArchiveService cartArchiveService;
+    private final OrderMetrics orderMetrics;
+
+    // 버전 이벤트를 놓쳤을 때를 대비해 이 시간이 지나면 모든 상품을 다시 확인한다.
+    @Value("${cart.refresh.max-age-ms:600000}")
+    private long refreshMaxAgeMillis;
 
     public Cart addCart(Long customerId, AddProductCartForm form) {
+        return orderMetrics.getCartAdd().record(() -> addCartInternal(customerId, form));
+    }
 
-        Product product = productSearchService.getByProductId(form.getId());
+    private Cart addCartInternal(Long customerId, AddProductCartForm form) {
+        // 장바구니가 있는지와 상품 스냅샷을 동시에 본다. 장바구니 값은 CartService.addCart 가 master 에서 읽는다.
+        Tuple2<Boolean, Map<Long, ProductSnapshot>> loaded = Mono.zip(
+                cartStore.hasCart(customerId),
+                cartStore.getProducts(List.of(form.getId()))
+        ).block();
+
+        ProductSnapshot product = loadMissingProducts(loaded.getT2(), List.of(form.getId())).get(form.getId());
         if (product == null) {
             throw new CustomException(NOT_FOUND_PRODUCT);
         }
 
-        Cart cart = cartService.getCart(customerId);
+        if (!loaded.getT1()) {
+            cartArchiveService.restore(customerId);
+        }
+        AddProductCartForm pricedForm = withSnapshotValues(form, product);
+        return cartService.addCart(customerId, pricedForm, cart -> {
+            if (!addAble(cart, product, pricedForm)) {
+                throw new CustomException(ITEM_COUNT_NOT_ENOUGH);
+            }
+        });
+    }
 
-        if (cart != null && !addAble(cart, product, form)) {
-            throw new CustomException(ITEM_COUNT_NOT_ENOUGH);
+    /**
+     * 요청의 판매자 / 이름 / 설명 / 가격 대신 상품 스냅샷의 값을 쓰고 수량만 요청에서 받는다.
+     * (판매자별 소계가 요청의 sellerId 로 묶이지 않도록) 없는 옵션이면 NOT_FOUND_ITEM.
+     */
+    private static AddProductCartForm withSnapshotValues(AddProductCartForm form, ProductSnapshot product) {
+        Map<Long, ProductSnapshot.Item> snapshotItems = product.getItems().stream()
+                .collect(Collectors.toMap(ProductSnapshot.Item::getId, item -> item));
+        List<AddProductCartForm.ProductItem> items = new ArrayList<>(form.getItems().size());
+        for (AddProductCartForm.ProductItem item : form.getItems()) {
+            ProductSnapshot.Item snapshotItem = snapshotItems.get(item.getId());
+            if (snapshotItem == null) {
+                throw new CustomException(NOT_FOUND_ITEM);
+            }
+            items.add(AddProductCartForm.ProductItem.builder()
+                    .id(item.getId())
+                    .name(snapshotItem.getName())
+                    .count(item.getCount())
+                    .price(snapshotItem.getPrice())
+                    .build());
         }
-        return cartService.addCart(customerId, form);
+        return AddProductCartForm.builder()
+                .id(form.getId())
+                .sellerId(product.getSellerId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .items(items)
+                .build();
     }
 
     /**
@@ -50,108 +114,206 @@ public class CartApplication {
     public Cart updateCart(Long customerId, Cart cart) {
         // 실질적으로 변하는 데이터
         // 상품의 삭제, 수량 변경
+        // 요청으로 받은 장바구니는 다시 확인한다.
+        cart.setProductVersions(new HashMap<>());
+        cart.setValidatedAt(0);
+        cart.setChanges(new ArrayList<>());
+        cart.setMessages(new ArrayList<>());
+        // 요청의 금액은 쓰지 않고 refresh 뒤 다시 계산한다.
+        cart.setTotals(null);
         cartService.putCart(customerId, cart);
         return getCart(customerId);
     }
 
+    /**
+     * 요청한 줄만 캐시된 상품 스냅샷으로 확인하고 바꾼다. (전체 refresh 없이)
+     * 읽고 쓰는 사이 다른 요청이 장바구니를 바꾸면 다시 읽어 적용한다. (CartService.updateCart)
+     */
+    public Cart patchCart(Long customerId, PatchCartForm form) {
+        List<Long> productIds = form.getOperations().stream()
+                .filter(operation -> operation.getOp() == PatchCartForm.Type.SET_COUNT)
+                .map(PatchCartForm.Operation::getProductId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, ProductSnapshot> products = productIds.isEmpty() ? Map.of()
+                : loadMissingProducts(cartStore.getProducts(productIds).block(), productIds);
+
+        return cartService.updateCart(customerId, cart -> {
+            CartPricingEngine.price(cart);
+            for (PatchCartForm.Operation operation : form.getOperations()) {
+                applyOperation(cart, operation, products);
+            }
+        });
+    }
+
+    private static void applyOperation(
+            Cart cart, PatchCartForm.Operation operation, Map<Long, ProductSnapshot> products
+    ) {
+        Cart.Product cartProduct = cart.getProducts().stream()
+                .filter(product -> product.getId().equals(operation.getProductId()))
+                .findFirst()
+                .orElseThrow(() -> new CustomException(NOT_FOUND_CART_ITEM));
+        Cart.ProductItem item = cartProduct.getItems().stream()
+                .filter(cartItem -> cartItem.getId().equals(operation.getItemId()))
+                .findFirst()
+                .orElseThrow(() -> new CustomException(NOT_FOUND_CART_ITEM));
+
+        if (operation.getOp() == PatchCartForm.Type.REMOVE) {
+            CartPricingEngine.removeLine(cart, cartProduct, item);
+            cartProduct.getItems().remove(item);
+            if (cartProduct.getItems().isEmpty()) {
+                cart.getProducts().remove(cartProduct);
+                cart.getProductVersions().remove(cartProduct.getId());
+            }
+            return;
+        }
+
+        if (operation.getCount() == null || operation.getCount() < 1) {
+            throw new CustomException(CART_CHANGE_FAIL);
+        }
+        ProductSnapshot.Item current = Optional.ofNullable(products.get(cartProduct.getId()))
+                .flatMap(product -> product.getItems().stream()
+                        .filter(snapshotItem -> snapshotItem.getId().equals(item.getId()))
+                        .findFirst())
+                .orElseThrow(() -> new CustomException(NOT_FOUND_ITEM));
+        if (operation.getCount() > current.getCount()) {
+            throw new CustomException(ITEM_COUNT_NOT_ENOUGH);
+        }
+        if (!item.getPrice().equals(current.getPrice())) {
+            cart.addChange(CartChange.item(CartChange.Type.ITEM_PRICE_CHANGED, cartProduct, item,
+                    item.getPrice(), current.getPrice()));
+            item.setPrice(current.getPrice());
+        }
+        item.setCount(operation.getCount());
+        CartPricingEngine.updateLine(cart, cartProduct, item);
+    }
+
     public Cart getCart(Long customerId) {
-        Cart cart = refreshCart(cartService.getCart(customerId));
+        return orderMetrics.getCartGet().record(() -> getCartInternal(customerId));
+    }
+
+    private Cart getCartInternal(Long customerId) {
+        Cart cart = loadCart(customerId, cartStore.getCart(customerId));
+        long validatedAt = cart.getValidatedAt();
+        Map<Long, Long> validated = new HashMap<>(cart.getProductVersions());
+        boolean priced = cart.getTotals() != null;
+        refreshCart(cart);
+        if (cart.getChanges().isEmpty() && validatedAt == cart.getValidatedAt()
+                && validated.equals(cart.getProductVersions()) && priced) {
+            // 바뀐 것이 없으면 다시 쓰지 않는다. (TTL 은 읽을 때 연장됨)
+            return cart;
+        }
+        // 읽은 값은 replica / 로컬 캐시일 수 있고 그 사이 다른 쓰기가 있을 수 있으므로,
+        // master 에서 다시 읽어 refresh 하고 다른 쓰기가 없었을 때만 쓴다. (CartService.updateCart)
         Cart returnCart = new Cart();
         returnCart.setCustomerId(customerId);
-        returnCart.setProducts(cart.getProducts());
-        returnCart.setMessages(cart.getMessages());
-        cart.setMessages(new ArrayList<>());
-        // 메지시 없는 것
-        cartService.putCart(customerId, cart);
+        cartService.updateCart(customerId, stored -> {
+            refreshCart(stored);
+            returnCart.setProducts(stored.getProducts());
+            returnCart.setChanges(stored.getChanges());
+            returnCart.setTotals(stored.getTotals());
+            // 보여준 변경은 지우고 저장
+            stored.setChanges(new ArrayList<>());
+        });
         return returnCart;
     }
 
+    private Cart loadCart(Long customerId, Mono<Cart> cart) {
+        return cart.blockOptional()
+                .or(() -> cartArchiveService.restore(customerId))
+                .orElseGet(() -> new Cart(customerId));
+    }
+
     public void clearCart(Long customerId) {
         cartService.putCart(customerId, null);
     }
 
-    private Cart refreshCart(Cart cart) {
-        Map<Long, Product> productMap = productSearchService.getListByProductIds(
-                cart.getProducts().stream()
-                        .map(Cart.Product::getId).collect(Collectors.toList()))
-                .stream()
-                .collect(Collectors.toMap(Product::getId, product -> product));
+    private Map<Long, ProductSnapshot> loadMissingProducts(
+            Map<Long, ProductSnapshot> cached, Collection<Long> productIds
+    ) {
+        if (cached.keySet().containsAll(productIds)) {
+            return cached;
+        }
+        return loadMissingProducts(cached, productIds, cartStore.getProductVersions(productIds).block());
+    }
 
-        for(int i = 0; i < cart.getProducts().size();i ++) {
-            Cart.Product cartProduct = cart.getProducts().get(i);
+    /**
+     * 캐시에 없는 상품만 DB 에서 읽고, 읽은 스냅샷은 응답을 기다리지 않고 캐시에 채운다.
+     * versions 는 DB 에서 읽기 전에 본 상품 버전이어야 한다. 스냅샷에 이 버전을 담아 두면
+     * 쓰는 사이 상품이 바뀌어 버전이 올라간 경우 이후 조회(getProducts)에서 지난 스냅샷으로 걸러진다.
+     */
+    private Map<Long, ProductSnapshot> loadMissingProducts(
+            Map<Long, ProductSnapshot> cached, Collection<Long> productIds, Map<Long, Long> versions
+    ) {
+        List<Long> missing = productIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return cached;
+        }
 
-            Product p = productMap.get(cartProduct.getId());
-            if(p == null) {
-                cart.getProducts().remove(cartProduct);
-                i--;
-                cart.addMessage(cartProduct.getName() + " 상품이 삭제되었습니다.");
-                continue;
-            }
+        List<ProductSnapshot> loaded = productSearchService.getListByProductIds(missing).stream()
+                .map(ProductSnapshot::from)
+                .collect(Collectors.toList());
+        loaded.forEach(snapshot -> snapshot.setVersion(versions.get(snapshot.getId())));
+        cartStore.putProducts(loaded).subscribe(
+                null, e -> log.warn("product snapshot cache write fail", e));
 
-            Map<Long, ProductItem> productItemMap = p.getProductItems().stream()
-                    .collect(Collectors.toMap(ProductItem::getId, productItem -> productItem));
-
-            List<String> tmpMessages = new ArrayList<>();
-
-            for(int j = 0; j < cartProduct.getItems().size(); j++) {
-                Cart.ProductItem cartProductItem = cartProduct.getItems().get(j);
-                ProductItem pi = productItemMap.get(cartProductItem.getId());
-
-                if(pi == null) {
-                    cartProduct.getItems().remove(cartProductItem);
-                    j--;
-                    tmpMessages.add(cartProductItem.getName() + " 옵션이 삭제되었습니다.");
-                    continue;
-                }
-
-                boolean isPriceChanged = false, isCountNotEnough = false;
-
-                if(!cartProductItem.getPrice().equals(pi.getPrice())){
-                    isPriceChanged = true;
-                    cartProductItem.setPrice(pi.getPrice());
-                }
-                if(cartProductItem.getCount() > pi.getCount()){
-                    isCountNotEnough = true;
-                    cartProductItem.setCount(pi.getCount());
-                }
-
-                if(isPriceChanged && isCountNotEnough){
-                    tmpMessages.add(cartProductItem.getName() + " 가격변동, 수량이 부족하여 구매 가능한 최대치로 변경되었습니다.");
-                } else if (isPriceChanged) {
-                    tmpMessages.add(cartProductItem.getName() + " 가격이 변동되었습니다.");
-                } else if (isCountNotEnough) {
-                    tmpMessages.add(cartProductItem.getName() + " 수량이 부족하여 구매 가능한 최대치로 변경되었습니다.");
-                }
-            }
+        Map<Long, ProductSnapshot> products = new HashMap<>(cached);
+        loaded.forEach(snapshot -> products.put(snapshot.getId(), snapshot));
+        return products;
+    }
 
-            if(cartProduct.getItems().size() == 0) {
-                cart.getProducts().remove(cartProduct);
-                i--;
-                cart.addMessage(cartProduct.getName() + " 상품의 옵션이 모두 없어져 구매가 불가능 합니다.");
-                continue;
-            } else if(tmpMessages.size() > 0){
-                StringBuilder builder = new StringBuilder();
-                builder.append(cartProduct.getName() + " 상품의 변동 사항 : ");
-                for(String message : tmpMessages){
-                    builder.append(message);
-                    builder.append(", ");
-                }
-                cart.addMessage(builder.toString());
-            }
+    private Cart refreshCart(Cart cart) {
+        // 바뀐 줄은 refresh 안에서 합계에 반영되고, 합계가 없을 때만 전체를 계산한다.
+        Cart refreshed = orderMetrics.getCartRefresh()
+                .record(() -> CartPricingEngine.price(refreshCartInternal(cart)));
+        orderMetrics.getCartProducts().record(refreshed.getProducts().size());
+        orderMetrics.getCartItems().record(refreshed.getProducts().stream()
+                .mapToInt(product -> product.getItems().size()).sum());
+        return refreshed;
+    }
+
+    /**
+     * 마지막 확인 이후 버전이 바뀐 상품만 다시 읽어 확인한다.
+     * 바뀐 상품이 없으면 버전 MGET 한 번으로 끝난다.
+     */
+    private Cart refreshCartInternal(Cart cart) {
+        List<Long> productIds = cart.getProducts().stream()
+                .map(Cart.Product::getId).collect(Collectors.toList());
+        if (productIds.isEmpty()) {
+            cart.getProductVersions().clear();
+            return cart;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - cart.getValidatedAt() > refreshMaxAgeMillis) {
+            cart.getProductVersions().clear();
+            cart.setValidatedAt(now);
+        }
+        Map<Long, Long> versions = cartStore.getProductVersions(productIds).block();
+        List<Long> changedIds = productIds.stream()
+                .filter(id -> !versions.get(id).equals(cart.getProductVersions().get(id)))
+                .collect(Collectors.toList());
+        // 장바구니에서 빠진 상품의 버전은 지운다.
+        cart.getProductVersions().keySet().retainAll(productIds);
+        if (changedIds.isEmpty()) {
+            return cart;
         }
-        cartService.putCart(cart.getCustomerId(), cart);
-        return cart;
+        Map<Long, ProductSnapshot> productMap = loadMissingProducts(
+                cartStore.getProducts(changedIds, versions).block(), changedIds, versions);
+        return new CartRefreshEngine().refresh(cart, productMap, versions);
     }
 
-    private boolean addAble(Cart cart, Product product, AddProductCartForm form) {
+    private boolean addAble(Cart cart, ProductSnapshot product, AddProductCartForm form) {
         Cart.Product cartProduct = cart.getProducts().stream().filter(p -> p.getId().equals(form.getId()))
                 .findFirst().orElse(Cart.Product.builder().id(product.getId())
                         .items(Collections.emptyList()).build());
 
         Map<Long, Integer> cartItemCountMap = cartProduct.getItems().stream()
                 .collect(Collectors.toMap(Cart.ProductItem::getId, Cart.ProductItem::getCount));
-        Map<Long, Integer> currentItemMap = product.getProductItems().stream()
-                .collect(Collectors.toMap(ProductItem::getId, ProductItem::getCount));
+        Map<Long, Integer> currentItemMap = product.getItems().stream()
+                .collect(Collectors.toMap(ProductSnapshot.Item::getId, ProductSnapshot.Item::getCount));
 
         return form.getItems().stream().noneMatch(
                 formItem -> {
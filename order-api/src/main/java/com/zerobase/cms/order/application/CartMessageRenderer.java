@@ -0,0 +1,35 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 응답 직전에 CartChange 를 요청 locale 의 문장으로 만든다.
+ * 문장 틀은 messages/cart*.properties 의 cart.change.{type} 이며,
+ * MessageSource 가 locale 별 번들과 MessageFormat 을 캐시한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartMessageRenderer {
+    private static final String CODE_PREFIX = "cart.change.";
+
+    private final MessageSource messageSource;
+
+    public Cart render(Cart cart, Locale locale) {
+        List<String> messages = new ArrayList<>(cart.getChanges().size());
+        for (CartChange change : cart.getChanges()) {
+            messages.add(messageSource.getMessage(CODE_PREFIX + change.getType(), new Object[]{
+                    change.getProductName(), change.getItemName(), change.getOldValue(), change.getNewValue()
+            }, change.getType().name(), locale));
+        }
+        cart.setMessages(messages);
+        return cart;
+    }
+}
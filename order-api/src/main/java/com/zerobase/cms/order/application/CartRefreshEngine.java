@@ -0,0 +1,116 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartChange;
+import com.zerobase.cms.order.domain.redis.ProductSnapshot;
+import com.zerobase.cms.order.service.CartPricingEngine;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.zerobase.cms.order.domain.redis.CartChange.Type.*;
+
+/**
+ * 장바구니를 상품 스냅샷과 비교해 고친다. (refreshCart 의 본체)
+ * 지울 상품/옵션은 remove 대신 앞으로 당겨 쓰고 끝을 잘라 한 번에 지운다. (O(n))
+ * 옵션 조회용 맵은 long key 맵 하나를 상품마다 비워서 다시 쓰고,
+ * 변경은 문장 없이 CartChange 로만 남긴다. (문장은 응답할 때 CartMessageRenderer 가 만든다)
+ * 바뀐 줄만 CartPricingEngine 으로 합계에 반영한다.
+ * 상태를 들고 있으므로 한 스레드에서만 쓴다.
+ */
+public final class CartRefreshEngine {
+    private final LongObjectMap<ProductSnapshot.Item> itemMap = new LongObjectMap<>(16);
+
+    /**
+     * versions 의 버전이 장바구니에 저장된 버전과 같은 상품은 건너뛰고,
+     * 나머지는 products 와 비교해 가격/수량을 고치고 없어진 상품/옵션을 지운다.
+     * 확인한 상품의 버전은 장바구니에 기록한다. (versions 에 없는 상품은 매번 확인)
+     */
+    public Cart refresh(Cart cart, Map<Long, ProductSnapshot> products, Map<Long, Long> versions) {
+        List<Cart.Product> cartProducts = cart.getProducts();
+        Map<Long, Long> validated = cart.getProductVersions();
+
+        int write = 0;
+        for (int read = 0, size = cartProducts.size(); read < size; read++) {
+            Cart.Product cartProduct = cartProducts.get(read);
+            Long version = versions.get(cartProduct.getId());
+            if (version != null && version.equals(validated.get(cartProduct.getId()))) {
+                cartProducts.set(write++, cartProduct);
+                continue;
+            }
+
+            ProductSnapshot product = products.get(cartProduct.getId());
+            if (product == null) {
+                CartPricingEngine.removeProduct(cart, cartProduct);
+                validated.remove(cartProduct.getId());
+                cart.addChange(CartChange.product(PRODUCT_REMOVED, cartProduct));
+                continue;
+            }
+
+            int mark = cart.getChanges().size();
+            if (!refreshItems(cart, cartProduct, product)) {
+                // 옵션별 변경 대신 상품 변경 하나만 남긴다.
+                truncate(cart.getChanges(), mark);
+                validated.remove(cartProduct.getId());
+                cart.addChange(CartChange.product(PRODUCT_UNAVAILABLE, cartProduct));
+                continue;
+            }
+            if (version != null) {
+                validated.put(cartProduct.getId(), version);
+            }
+            cartProducts.set(write++, cartProduct);
+        }
+        truncate(cartProducts, write);
+        return cart;
+    }
+
+    /**
+     * @return 남은 옵션이 있으면 true
+     */
+    private boolean refreshItems(Cart cart, Cart.Product cartProduct, ProductSnapshot product) {
+        List<ProductSnapshot.Item> snapshotItems = product.getItems();
+        itemMap.clear(snapshotItems.size());
+        for (int i = 0, size = snapshotItems.size(); i < size; i++) {
+            ProductSnapshot.Item item = snapshotItems.get(i);
+            itemMap.put(item.getId(), item);
+        }
+
+        List<Cart.ProductItem> items = cartProduct.getItems();
+        int write = 0;
+        for (int read = 0, size = items.size(); read < size; read++) {
+            Cart.ProductItem item = items.get(read);
+            ProductSnapshot.Item current = item.getId() == null ? null : itemMap.get(item.getId());
+            if (current == null) {
+                CartPricingEngine.removeLine(cart, cartProduct, item);
+                cart.addChange(CartChange.item(ITEM_REMOVED, cartProduct, item));
+                continue;
+            }
+
+            boolean changed = false;
+            if (!item.getPrice().equals(current.getPrice())) {
+                cart.addChange(CartChange.item(ITEM_PRICE_CHANGED, cartProduct, item,
+                        item.getPrice(), current.getPrice()));
+                item.setPrice(current.getPrice());
+                changed = true;
+            }
+            if (item.getCount() > current.getCount()) {
+                cart.addChange(CartChange.item(ITEM_COUNT_CAPPED, cartProduct, item,
+                        item.getCount(), current.getCount()));
+                item.setCount(current.getCount());
+                changed = true;
+            }
+            if (changed) {
+                CartPricingEngine.updateLine(cart, cartProduct, item);
+            }
+            items.set(write++, item);
+        }
+        truncate(items, write);
+        return write > 0;
+    }
+
+    private static <T> void truncate(List<T> list, int size) {
+        if (size < list.size()) {
+            list.subList(size, list.size()).clear();
+        }
+    }
+}
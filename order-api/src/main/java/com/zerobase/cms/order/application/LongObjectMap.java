@@ -0,0 +1,100 @@
+package com.zerobase.cms.order.application;
+
+import java.util.Arrays;
+
+/**
+ * long key 전용 open addressing(linear probing) 맵. key 를 boxing 하지 않는다.
+ * 삭제는 지원하지 않고 clear 후 다시 채워 쓰는 용도다. (한 번의 refresh 안에서 재사용)
+ */
+final class LongObjectMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LongObjectMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    V get(long key) {
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                @SuppressWarnings("unchecked")
+                V value = (V) values[i];
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * null 값은 넣을 수 없다. (빈 칸 표시로 쓰므로)
+     */
+    void put(long key, V value) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 다음에 넣을 개수만큼 공간을 잡고 비운다. 이미 충분하면 배열을 새로 만들지 않는다.
+     */
+    void clear(int expectedSize) {
+        int tableSize = tableSize(expectedSize);
+        if (tableSize > keys.length) {
+            allocate(tableSize);
+        } else if (size > 0) {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(tableSize);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                @SuppressWarnings("unchecked")
+                V value = (V) oldValues[i];
+                put(oldKeys[i], value);
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new Object[tableSize];
+    }
+
+    // load factor 0.5 이하가 되는 2의 거듭제곱
+    private static int tableSize(int expectedSize) {
+        int tableSize = 8;
+        while (tableSize < expectedSize * 2) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
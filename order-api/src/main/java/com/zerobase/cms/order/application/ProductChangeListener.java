@@ -0,0 +1,47 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.client.ReactiveCartStore;
+import com.zerobase.cms.order.domain.product.ProductChangedEvent;
+import com.zerobase.cms.order.domain.product.ProductDeletedEvent;
+import com.zerobase.cms.order.service.CartService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 상품이 바뀌면 커밋 이후 장바구니용 상품 스냅샷 캐시를 지우고 상품 버전을 올린다.
+ * 버전이 바뀐 상품만 다음 장바구니 조회에서 DB 값으로 다시 확인된다.
+ * 삭제된 상품은 담고 있는 장바구니에서도 뺀다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductChangeListener {
+    private final ReactiveCartStore cartStore;
+    private final CartService cartService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            cartStore.evictProducts(event.getProductIds())
+                    .then(cartStore.bumpProductVersions(event.getProductIds()))
+                    .block();
+        } catch (RuntimeException e) {
+            // 요청은 실패시키지 않는다. (스냅샷은 TTL 이 지나면 사라진다)
+            log.warn("product snapshot evict / version bump fail - products: {}", event.getProductIds(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductDeleted(ProductDeletedEvent event) {
+        try {
+            int changed = cartService.removeProduct(event.getProductId());
+            log.info("product removed from carts - product: {}, carts: {}", event.getProductId(), changed);
+        } catch (RuntimeException e) {
+            // 남은 장바구니는 조회 시 refresh 에서 정리된다.
+            log.warn("cart cleanup fail - product: {}", event.getProductId(), e);
+        }
+    }
+}
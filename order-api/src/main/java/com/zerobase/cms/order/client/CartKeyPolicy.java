@@ -0,0 +1,56 @@
+package com.zerobase.cms.order.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 장바구니 Redis key 규칙과 만료 정책.
+ *
+ * key    : cart:{customerId} - {} 는 cluster hash tag 로, 한 고객의 key 는 같은 slot 에 놓인다.
+ * TTL    : 읽거나 쓸 때마다 다시 늘어난다. (sliding)
+ * 활동    : 보관(archive)을 켜면 마지막 접근 시각을 cart:activity (zset) 에 남긴다.
+ * 버전    : 로컬 캐시(cart.local-cache.enabled)를 켜면 쓸 때마다 cart:{customerId}:v 를 INCR 한다.
+ */
+@Component
+public class CartKeyPolicy {
+    public static final String ACTIVITY_KEY = "cart:activity";
+
+    private final Duration ttl;
+    private final boolean trackActivity;
+    private final boolean versioned;
+
+    public CartKeyPolicy(
+            @Value("${cart.ttl-days:30}") long ttlDays,
+            @Value("${cart.archive.enabled:false}") boolean trackActivity,
+            @Value("${cart.local-cache.enabled:false}") boolean versioned
+    ) {
+        this.ttl = Duration.ofDays(ttlDays);
+        this.trackActivity = trackActivity;
+        this.versioned = versioned;
+    }
+
+    public String cartKey(Long customerId) {
+        return "cart:{" + customerId + "}";
+    }
+
+    /**
+     * 장바구니와 같은 hash tag 를 써서 같은 노드 / slot 에 놓인다.
+     */
+    public String versionKey(Long customerId) {
+        return cartKey(customerId) + ":v";
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public boolean isTrackActivity() {
+        return trackActivity;
+    }
+
+    public boolean isVersioned() {
+        return versioned;
+    }
+}
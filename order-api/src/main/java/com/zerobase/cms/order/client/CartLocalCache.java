@@ -0,0 +1,74 @@
+package com.zerobase.cms.order.client;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 역직렬화된 장바구니를 인스턴스 메모리에 잠깐 들고 있는 L1 캐시. (L2 는 Redis)
+ * 값은 Redis 의 버전(cart:{customerId}:v)과 함께 저장하고, 꺼낼 때 버전이 같을 때만 쓴다.
+ * ttl 이 지난 값과 max-size 를 넘는 오래된 값은 버린다.
+ * 같은 고객의 요청이 같은 인스턴스로 가야(sticky session) 적중률이 나온다.
+ */
+@Component
+public class CartLocalCache {
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries;
+
+    public CartLocalCache(
+            @Value("${cart.local-cache.enabled:false}") boolean enabled,
+            @Value("${cart.local-cache.ttl-ms:5000}") long ttlMillis,
+            @Value("${cart.local-cache.max-size:10000}") int maxSize
+    ) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        // access order LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ttl 안의 값만 돌려준다. 버전 비교는 호출하는 쪽에서 한다.
+     */
+    public synchronized Entry get(Long customerId) {
+        Entry entry = entries.get(customerId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.getCachedAt() > ttlMillis) {
+            entries.remove(customerId);
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized void put(Long customerId, String version, Cart cart) {
+        entries.put(customerId, new Entry(version, cart.copy(), System.currentTimeMillis()));
+    }
+
+    public synchronized void evict(Long customerId) {
+        entries.remove(customerId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final String version;
+        private final Cart cart;
+        private final long cachedAt;
+    }
+}
@@ -0,0 +1,144 @@
+package com.zerobase.cms.order.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * 장바구니 key 를 Redis 노드(shard)에 나눈다. (client-side consistent hashing)
+ * 노드마다 가상 노드 VIRTUAL_NODES 개를 hash ring 에 올리고, key 의 hash tag({...})가 있으면 그 부분으로 노드를 고른다.
+ * 노드를 추가/제거해도 약 1/N 의 key 만 다른 노드로 옮겨진다.
+ * 노드가 하나(기본값)면 Spring Boot 가 만든 연결을 그대로 쓰며, Redis Cluster 는 이 경우에 해당한다.
+ */
+@Slf4j
+public class CartRedisRouter implements DisposableBean {
+    private static final int VIRTUAL_NODES = 160;
+
+    private final List<Shard> shards;
+    private final boolean replicaReads;
+    private final List<DisposableBean> resources;
+    private final TreeMap<Long, Shard> ring = new TreeMap<>();
+
+    public CartRedisRouter(List<Shard> shards, boolean replicaReads, List<? extends DisposableBean> resources) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("redis shard is empty");
+        }
+        this.shards = List.copyOf(shards);
+        this.replicaReads = replicaReads;
+        this.resources = List.copyOf(resources);
+        for (Shard shard : shards) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(shard.getName() + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * 노드 하나짜리 router.
+     */
+    public static CartRedisRouter single(
+            RedisTemplate<String, Object> redisTemplate, ReactiveStringRedisTemplate reactiveRedisTemplate
+    ) {
+        return new CartRedisRouter(
+                List.of(new Shard("default", redisTemplate, reactiveRedisTemplate, reactiveRedisTemplate)),
+                false, List.of());
+    }
+
+    public Shard shard(String key) {
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        SortedMap<Long, Shard> tail = ring.tailMap(hash(hashTag(key)));
+        return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    /**
+     * MGET / pipeline 을 노드별로 보내기 위해 묶는다. (입력 순서 유지)
+     */
+    public <T> Map<Shard, List<T>> groupByShard(Collection<T> items, Function<T, String> keyMapper) {
+        Map<Shard, List<T>> grouped = new LinkedHashMap<>();
+        for (T item : items) {
+            grouped.computeIfAbsent(shard(keyMapper.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return grouped;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * getCart 를 replica 에서 읽을지 여부.
+     */
+    public boolean isReplicaReads() {
+        return replicaReads;
+    }
+
+    @Override
+    public void destroy() {
+        for (DisposableBean resource : resources) {
+            try {
+                resource.destroy();
+            } catch (Exception e) {
+                log.warn("redis shard close fail", e);
+            }
+        }
+    }
+
+    /**
+     * Redis Cluster 와 같은 규칙: key 에 비어 있지 않은 {...} 가 있으면 그 안쪽만 사용한다.
+     */
+    static String hashTag(String key) {
+        int start = key.indexOf('{');
+        if (start >= 0) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                return key.substring(start + 1, end);
+            }
+        }
+        return key;
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ((long) (digest[3] & 0xFF) << 24)
+                    | ((long) (digest[2] & 0xFF) << 16)
+                    | ((long) (digest[1] & 0xFF) << 8)
+                    | (digest[0] & 0xFF);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Shard {
+        private final String name;
+        // 쓰기와 읽은 뒤 다시 쓰는 경로는 항상 master
+        private final RedisTemplate<String, Object> redisTemplate;
+        private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+        // replica 가 있으면 replica 우선, 없으면 master
+        private final ReactiveStringRedisTemplate reactiveReplicaTemplate;
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.zerobase.cms.order.client;
+
+import com.zerobase.cms.order.domain.product.StockNotificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 알림 채널(푸시/메일)이 붙기 전까지 사용하는 기본 구현. 보낼 대상만 로그로 남긴다.
+ */
+@Slf4j
+@Component
+public class LogStockNotificationSender implements StockNotificationSender {
+
+    @Override
+    public void send(StockNotificationType type, Long productItemId, List<Long> customerIds) {
+        log.info("stock notification - type: {}, item: {}, customers: {}", type, productItemId, customerIds.size());
+    }
+}
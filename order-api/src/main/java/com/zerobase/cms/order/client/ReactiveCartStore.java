@@ -0,0 +1,325 @@
+package com.zerobase.cms.order.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.config.OrderMetrics;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.ProductSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lettuce 비동기 명령으로 장바구니와 상품 스냅샷을 읽는다.
+ * 장바구니 읽기와 상품 조회를 동시에 보내거나(Mono.zip), 상품 여러 개를 MGET 한 번으로 읽을 때 사용한다.
+ * 장바구니 key / 값 형식과 TTL 은 RedisClient 와 같다. (CartKeyPolicy)
+ * 노드가 여러 개면 CartRedisRouter 로 key 별 노드를 고르고, MGET 은 노드별로 동시에 보낸다.
+ */
+@Slf4j
+@Service
+public class ReactiveCartStore {
+    private static final String PRODUCT_KEY_PREFIX = "product:snapshot:";
+    private static final String PRODUCT_VERSION_KEY_PREFIX = "product:version:";
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final CartRedisRouter router;
+    private final OrderMetrics orderMetrics;
+    private final CartKeyPolicy cartKeyPolicy;
+    private final CartLocalCache localCache;
+    private final Duration productTtl;
+
+    public ReactiveCartStore(
+            CartRedisRouter router,
+            OrderMetrics orderMetrics,
+            CartKeyPolicy cartKeyPolicy,
+            CartLocalCache localCache,
+            @Value("${cart.product-snapshot.ttl-seconds:300}") long productTtlSeconds
+    ) {
+        this.router = router;
+        this.orderMetrics = orderMetrics;
+        this.cartKeyPolicy = cartKeyPolicy;
+        this.localCache = localCache;
+        this.productTtl = Duration.ofSeconds(productTtlSeconds);
+    }
+
+    /**
+     * 화면 조회용. 로컬 캐시가 켜져 있으면 버전이 같을 때 로컬 값을 쓴다.
+     * replica 읽기가 켜져 있으면 replica 에서 읽고 TTL 연장만 master 로 보낸다.
+     * replica 는 늦을 수 있으므로, 읽은 값을 고쳐 다시 쓰려면 getPrimaryCart 로 다시 읽어야 한다.
+     */
+    public Mono<Cart> getCart(Long customerId) {
+        if (localCache.isEnabled()) {
+            return getCachedCart(customerId);
+        }
+        if (!router.isReplicaReads()) {
+            return getPrimaryCart(customerId);
+        }
+        String key = cartKeyPolicy.cartKey(customerId);
+        CartRedisRouter.Shard shard = router.shard(key);
+        List<Mono<?>> writes = new ArrayList<>();
+        writes.add(shard.getReactiveRedisTemplate().expire(key, cartKeyPolicy.getTtl()));
+        writes.add(touch(customerId));
+        return readCart(shard.getReactiveReplicaTemplate().opsForValue().get(key), writes);
+    }
+
+    /**
+     * 장바구니가 없으면 empty. master 에서 읽으면서 TTL 을 다시 늘린다. (GETEX)
+     */
+    public Mono<Cart> getPrimaryCart(Long customerId) {
+        String key = cartKeyPolicy.cartKey(customerId);
+        Mono<String> cartValue = router.shard(key).getReactiveRedisTemplate().opsForValue()
+                .getAndExpire(key, cartKeyPolicy.getTtl());
+        List<Mono<?>> writes = new ArrayList<>();
+        writes.add(touch(customerId));
+        if (cartKeyPolicy.isVersioned()) {
+            writes.add(router.shard(key).getReactiveRedisTemplate()
+                    .expire(cartKeyPolicy.versionKey(customerId), cartKeyPolicy.getTtl()));
+        }
+        return readCart(cartValue, writes);
+    }
+
+    /**
+     * 장바구니 key 가 있는지만 본다. (master)
+     */
+    public Mono<Boolean> hasCart(Long customerId) {
+        String key = cartKeyPolicy.cartKey(customerId);
+        return router.shard(key).getReactiveRedisTemplate().hasKey(key);
+    }
+
+    /**
+     * 로컬 캐시에 값이 있으면 버전만 읽어(GET) 비교하고,
+     * 값이 없거나 버전이 바뀌었으면 값과 버전을 함께 읽어(MGET, 같은 slot) 캐시에 넣는다.
+     */
+    private Mono<Cart> getCachedCart(Long customerId) {
+        String key = cartKeyPolicy.cartKey(customerId);
+        String versionKey = cartKeyPolicy.versionKey(customerId);
+        CartRedisRouter.Shard shard = router.shard(key);
+        // replica 읽기를 끄면 master 와 같은 template
+        ReactiveStringRedisTemplate reader = shard.getReactiveReplicaTemplate();
+
+        Mono<Cart> load = reader.opsForValue().multiGet(List.of(key, versionKey))
+                .flatMap(values -> {
+                    String value = values.get(0);
+                    if (value == null) {
+                        orderMetrics.getRedisMiss().increment();
+                        return Mono.<Cart>empty();
+                    }
+                    orderMetrics.getRedisHit().increment();
+                    Cart cart = decode(value, Cart.class);
+                    if (cart != null && values.get(1) != null) {
+                        localCache.put(customerId, values.get(1), cart);
+                    }
+                    return Mono.justOrEmpty(cart);
+                });
+
+        CartLocalCache.Entry cached = localCache.get(customerId);
+        Mono<Cart> cart;
+        if (cached == null) {
+            orderMetrics.getLocalCacheMiss().increment();
+            cart = load;
+        } else {
+            cart = reader.opsForValue().get(versionKey).defaultIfEmpty("")
+                    .flatMap(version -> {
+                        if (version.equals(cached.getVersion())) {
+                            orderMetrics.getLocalCacheHit().increment();
+                            return Mono.just(cached.getCart().copy());
+                        }
+                        orderMetrics.getLocalCacheStale().increment();
+                        return load;
+                    });
+        }
+
+        List<Mono<?>> writes = new ArrayList<>();
+        writes.add(shard.getReactiveRedisTemplate().expire(key, cartKeyPolicy.getTtl()));
+        writes.add(shard.getReactiveRedisTemplate().expire(versionKey, cartKeyPolicy.getTtl()));
+        writes.add(touch(customerId));
+        return Mono.zip(cart.map(Optional::of).defaultIfEmpty(Optional.empty()),
+                        Mono.when(writes).thenReturn(true))
+                .flatMap(tuple -> Mono.justOrEmpty(tuple.getT1()));
+    }
+
+    public boolean isReplicaReads() {
+        return router.isReplicaReads();
+    }
+
+    private Mono<Cart> readCart(Mono<String> cartValue, List<Mono<?>> writes) {
+        return Mono.zip(cartValue.map(Optional::of).defaultIfEmpty(Optional.empty()),
+                        Mono.when(writes).thenReturn(true))
+                .flatMap(tuple -> Mono.justOrEmpty(tuple.getT1()))
+                .doOnNext(value -> orderMetrics.getRedisHit().increment())
+                .switchIfEmpty(Mono.fromRunnable(() -> orderMetrics.getRedisMiss().increment()))
+                .flatMap(value -> Mono.justOrEmpty(decode(value, Cart.class)));
+    }
+
+    private Mono<?> touch(Long customerId) {
+        if (!cartKeyPolicy.isTrackActivity()) {
+            return Mono.empty();
+        }
+        return router.shard(CartKeyPolicy.ACTIVITY_KEY).getReactiveRedisTemplate().opsForZSet()
+                .add(CartKeyPolicy.ACTIVITY_KEY, customerId.toString(), System.currentTimeMillis());
+    }
+
+    /**
+     * 캐시에 있고 현재 상품 버전과 같은 버전의 스냅샷만 돌려준다.
+     * 스냅샷 MGET 과 버전 MGET 을 동시에 보낸다.
+     */
+    public Mono<Map<Long, ProductSnapshot>> getProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.zip(readProducts(productIds), getProductVersions(productIds))
+                .map(tuple -> currentOnly(tuple.getT1(), tuple.getT2()));
+    }
+
+    /**
+     * 이미 읽은 상품 버전(versions)으로 스냅샷을 거른다. (노드별 MGET 한 번)
+     */
+    public Mono<Map<Long, ProductSnapshot>> getProducts(Collection<Long> productIds, Map<Long, Long> versions) {
+        if (productIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return readProducts(productIds).map(snapshots -> currentOnly(snapshots, versions));
+    }
+
+    /**
+     * 버전이 바뀐 뒤에 늦게 쓰인 스냅샷(버전이 이전 값)은 버린다.
+     */
+    private static Map<Long, ProductSnapshot> currentOnly(
+            Map<Long, ProductSnapshot> snapshots, Map<Long, Long> versions
+    ) {
+        snapshots.values().removeIf(snapshot -> !Objects.equals(snapshot.getVersion(), versions.get(snapshot.getId())));
+        return snapshots;
+    }
+
+    private Mono<Map<Long, ProductSnapshot>> readProducts(Collection<Long> productIds) {
+        return Flux.fromIterable(router.groupByShard(productIds, ReactiveCartStore::productKey).entrySet())
+                .flatMap(entry -> {
+                    List<Long> ids = entry.getValue();
+                    List<String> keys = new ArrayList<>(ids.size());
+                    ids.forEach(id -> keys.add(productKey(id)));
+                    return entry.getKey().getReactiveReplicaTemplate().opsForValue().multiGet(keys)
+                            .flatMapIterable(values -> {
+                                List<ProductSnapshot> snapshots = new ArrayList<>();
+                                for (int i = 0; i < ids.size(); i++) {
+                                    ProductSnapshot snapshot = values.get(i) == null
+                                            ? null : decode(values.get(i), ProductSnapshot.class);
+                                    if (snapshot != null) {
+                                        snapshots.add(snapshot);
+                                    }
+                                }
+                                return snapshots;
+                            });
+                })
+                .<Map<Long, ProductSnapshot>>collect(HashMap::new,
+                        (snapshots, snapshot) -> snapshots.put(snapshot.getId(), snapshot));
+    }
+
+    /**
+     * 스냅샷에는 DB 에서 읽기 전에 본 버전을 담아야 한다. (ProductSnapshot.version)
+     */
+    public Mono<Void> putProducts(Collection<ProductSnapshot> snapshots) {
+        return Flux.fromIterable(snapshots)
+                .flatMap(snapshot -> {
+                    String key = productKey(snapshot.getId());
+                    return router.shard(key).getReactiveRedisTemplate().opsForValue()
+                            .set(key, encode(snapshot), productTtl);
+                })
+                .then();
+    }
+
+    public Mono<Void> evictProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(router.groupByShard(productIds, ReactiveCartStore::productKey).entrySet())
+                .flatMap(entry -> entry.getKey().getReactiveRedisTemplate()
+                        .delete(Flux.fromIterable(entry.getValue()).map(ReactiveCartStore::productKey)))
+                .then();
+    }
+
+    /**
+     * 상품 버전을 노드별 MGET 으로 읽는다. 한 번도 바뀌지 않은 상품은 0.
+     * 버전은 master 에서 읽는다. (replica 가 늦으면 바뀐 상품을 건너뛸 수 있으므로)
+     */
+    public Mono<Map<Long, Long>> getProductVersions(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Flux.fromIterable(router.groupByShard(productIds, ReactiveCartStore::productVersionKey).entrySet())
+                .flatMap(entry -> {
+                    List<Long> ids = entry.getValue();
+                    List<String> keys = new ArrayList<>(ids.size());
+                    ids.forEach(id -> keys.add(productVersionKey(id)));
+                    return entry.getKey().getReactiveRedisTemplate().opsForValue().multiGet(keys)
+                            .flatMapIterable(values -> {
+                                List<Map.Entry<Long, Long>> versions = new ArrayList<>(ids.size());
+                                for (int i = 0; i < ids.size(); i++) {
+                                    versions.add(Map.entry(ids.get(i),
+                                            values.get(i) == null ? 0L : Long.parseLong(values.get(i))));
+                                }
+                                return versions;
+                            });
+                })
+                .<Map<Long, Long>>collect(HashMap::new,
+                        (versions, version) -> versions.put(version.getKey(), version.getValue()));
+    }
+
+    /**
+     * 상품 버전을 올린다. 커밋 이후, 스냅샷을 지운 다음에 호출해야
+     * 새 버전을 본 장바구니가 지난 스냅샷을 읽지 않는다.
+     */
+    public Mono<Void> bumpProductVersions(Collection<Long> productIds) {
+        return Flux.fromIterable(productIds)
+                .flatMap(id -> {
+                    String key = productVersionKey(id);
+                    return router.shard(key).getReactiveRedisTemplate().opsForValue().increment(key);
+                })
+                .then();
+    }
+
+    private static String productVersionKey(Long productId) {
+        return PRODUCT_VERSION_KEY_PREFIX + productId;
+    }
+
+    private static String productKey(Long productId) {
+        return PRODUCT_KEY_PREFIX + productId;
+    }
+
+    private <T> T decode(String value, Class<T> type) {
+        orderMetrics.getRedisReadBytes().record(value.getBytes(StandardCharsets.UTF_8).length);
+        long start = System.nanoTime();
+        try {
+            return mapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            log.error("Parsing error", e);
+            return null;
+        } finally {
+            orderMetrics.getRedisDecode().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String encode(Object value) {
+        long start = System.nanoTime();
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("product snapshot serialize fail", e);
+        } finally {
+            orderMetrics.getRedisEncode().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -2,14 +2,35 @@ package com.zerobase.cms.order.client;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.config.OrderMetrics;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.exception.CustomException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
 import static com.zerobase.cms.order.exception.ErrorCode.CART_CHANGE_FAIL;
 
 @Service
@@ -17,36 +38,315 @@ import static com.zerobase.cms.order.exception.ErrorCode.CART_CHANGE_FAIL;
 @Slf4j
 public class RedisClient {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final CartRedisRouter router;
+    private final OrderMetrics orderMetrics;
+    private final CartKeyPolicy cartKeyPolicy;
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    // MGET / pipeline 한 번에 보낼 key 수
+    private static final int BULK_CHUNK_SIZE = 500;
+    // 상품 id -> 해당 상품을 담은 고객 id (set)
+    private static final String CART_PRODUCT_INDEX_PREFIX = "cart:product:";
+    // 읽을 때의 값(sha1)과 같을 때만 쓴다. KEYS: 장바구니, 버전 / ARGV: sha1, 값, ttl(초), 버전 사용 여부
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1])\n"
+                    + "local hash = current and redis.sha1hex(current) or ''\n"
+                    + "if hash ~= ARGV[1] then return 0 end\n"
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])\n"
+                    + "if ARGV[4] == '1' then\n"
+                    + "  redis.call('INCR', KEYS[2])\n"
+                    + "  redis.call('EXPIRE', KEYS[2], ARGV[3])\n"
+                    + "end\n"
+                    + "return 1", Long.class);
+    // 읽을 때의 값(sha1)과 같을 때만 지운다. KEYS: 장바구니, 버전 / ARGV: sha1
+    private static final RedisScript<Long> COMPARE_AND_DELETE = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1])\n"
+                    + "local hash = current and redis.sha1hex(current) or ''\n"
+                    + "if hash ~= ARGV[1] then return 0 end\n"
+                    + "redis.call('DEL', KEYS[1], KEYS[2])\n"
+                    + "return 1", Long.class);
+    // 활동 시각이 기준 이후로 바뀌지 않았을 때만 지운다. KEYS: 활동 기록 / ARGV: 고객 id, 기준 시각
+    private static final RedisScript<Long> REMOVE_IDLE_ACTIVITY = new DefaultRedisScript<>(
+            "local score = redis.call('ZSCORE', KEYS[1], ARGV[1])\n"
+                    + "if score and tonumber(score) > tonumber(ARGV[2]) then return 0 end\n"
+                    + "redis.call('ZREM', KEYS[1], ARGV[1])\n"
+                    + "return 1", Long.class);
+
+    /**
+     * 장바구니를 읽고 TTL 을 다시 늘린다. (GETEX)
+     */
     public <T> T get(Long key, Class<T> classType) {
-        return get(key.toString(), classType);
+        touch(key);
+        return get(cartKeyPolicy.cartKey(key), classType);
     }
 
     private <T> T get(String key, Class<T> classType) {
-        String redisValue = (String) redisTemplate.opsForValue().get(key);
+        String redisValue = (String) orderMetrics.getRedisGet().record(
+                () -> template(key).opsForValue().getAndExpire(key, cartKeyPolicy.getTtl()));
         if (ObjectUtils.isEmpty(redisValue)) {
+            orderMetrics.getRedisMiss().increment();
             return null;
         } else {
-            try {
-                return mapper.readValue(redisValue, classType);
-            } catch (JsonProcessingException e) {
-                log.error("Parsing error", e);
+            orderMetrics.getRedisHit().increment();
+            return decode(redisValue, classType);
+        }
+    }
+
+    /**
+     * MGET 으로 여러 key 를 읽는다. (BULK_CHUNK_SIZE 단위) 값이 없는 key 는 결과에서 빠진다.
+     * 운영 작업용이므로 TTL 과 활동 시각은 건드리지 않는다.
+     */
+    public <T> Map<Long, T> getAll(Collection<Long> keys, Class<T> classType) {
+        Map<Long, T> result = new HashMap<>(keys.size());
+        multiGet(keys, (id, value) -> {
+            T decoded = decode(value, classType);
+            if (decoded != null) {
+                result.put(id, decoded);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * getAll 과 같이 읽고 값마다 stamp(sha1)를 함께 돌려준다. compareAndPut 으로 여러 장바구니를 고칠 때 쓴다.
+     */
+    public <T> Map<Long, Stamped<T>> getAllStamped(Collection<Long> keys, Class<T> classType) {
+        Map<Long, Stamped<T>> result = new HashMap<>(keys.size());
+        multiGet(keys, (id, value) -> {
+            T decoded = decode(value, classType);
+            if (decoded != null) {
+                result.put(id, new Stamped<>(decoded, sha1(value)));
+            }
+        });
+        return result;
+    }
+
+    private void multiGet(Collection<Long> keys, BiConsumer<Long, String> consumer) {
+        router.groupByShard(keys, cartKeyPolicy::cartKey).forEach((shard, ids) -> {
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+                List<String> chunkKeys = new ArrayList<>(chunk.size());
+                chunk.forEach(id -> chunkKeys.add(cartKeyPolicy.cartKey(id)));
+
+                List<Object> values = orderMetrics.getRedisGet().record(
+                        () -> shard.getRedisTemplate().opsForValue().multiGet(chunkKeys));
+                for (int i = 0; i < chunk.size(); i++) {
+                    String value = values == null ? null : (String) values.get(i);
+                    if (ObjectUtils.isEmpty(value)) {
+                        orderMetrics.getRedisMiss().increment();
+                        continue;
+                    }
+                    orderMetrics.getRedisHit().increment();
+                    consumer.accept(chunk.get(i), value);
+                }
+            }
+        });
+    }
+
+    public void put(Long key, Cart cart) {
+        touch(key);
+        String cartKey = cartKeyPolicy.cartKey(key);
+        String value = encode(cart);
+        if (!cartKeyPolicy.isVersioned()) {
+            orderMetrics.getRedisPut().record(
+                    () -> template(cartKey).opsForValue().set(cartKey, value, cartKeyPolicy.getTtl()));
+            return;
+        }
+        // 값과 버전을 한 번의 왕복으로 쓴다.
+        orderMetrics.getRedisPut().record(() -> template(cartKey).executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                write((RedisOperations<String, Object>) operations, key, value);
                 return null;
             }
+        }));
+    }
+
+    /**
+     * 장바구니와 읽은 값의 stamp(sha1)를 돌려준다. 장바구니가 없으면 value 는 null, stamp 는 빈 문자열.
+     * compareAndPut 과 함께 읽고 고친 뒤 쓰는 경로에 쓴다.
+     */
+    public <T> Stamped<T> getStamped(Long key, Class<T> classType) {
+        touch(key);
+        String cartKey = cartKeyPolicy.cartKey(key);
+        String redisValue = (String) orderMetrics.getRedisGet().record(
+                () -> template(cartKey).opsForValue().getAndExpire(cartKey, cartKeyPolicy.getTtl()));
+        if (ObjectUtils.isEmpty(redisValue)) {
+            orderMetrics.getRedisMiss().increment();
+            return new Stamped<>(null, "");
         }
+        orderMetrics.getRedisHit().increment();
+        return new Stamped<>(decode(redisValue, classType), sha1(redisValue));
     }
 
-    public void put(Long key, Cart cart) {
-        put(key.toString(), cart);
+    /**
+     * 그 사이 다른 요청이 장바구니를 바꾸지 않았을 때만 쓴다. (Lua 스크립트 하나로 비교와 쓰기)
+     *
+     * @return 썼으면 true, 다른 쓰기가 먼저 있었으면 false
+     */
+    public boolean compareAndPut(Long key, String stamp, Cart cart) {
+        String cartKey = cartKeyPolicy.cartKey(key);
+        String value = encode(cart);
+        Long result = orderMetrics.getRedisPut().record(() -> template(cartKey).execute(COMPARE_AND_SET,
+                List.of(cartKey, cartKeyPolicy.versionKey(key)),
+                stamp, value, String.valueOf(cartKeyPolicy.getTtl().getSeconds()),
+                cartKeyPolicy.isVersioned() ? "1" : "0"));
+        return result != null && result == 1L;
+    }
+
+    private void write(RedisOperations<String, Object> ops, Long customerId, String value) {
+        ops.opsForValue().set(cartKeyPolicy.cartKey(customerId), value, cartKeyPolicy.getTtl());
+        if (cartKeyPolicy.isVersioned()) {
+            String versionKey = cartKeyPolicy.versionKey(customerId);
+            ops.opsForValue().increment(versionKey);
+            ops.expire(versionKey, cartKeyPolicy.getTtl());
+        }
     }
 
-    private void put(String key, Cart cart) {
+    /**
+     * SET 을 노드별 pipeline 으로 묶어 보낸다. (BULK_CHUNK_SIZE 단위)
+     */
+    public void putAll(Map<Long, Cart> carts) {
+        Map<Long, String> values = new LinkedHashMap<>(carts.size());
+        carts.forEach((key, cart) -> values.put(key, encode(cart)));
+
+        router.groupByShard(values.keySet(), cartKeyPolicy::cartKey).forEach((shard, ids) -> {
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+                orderMetrics.getRedisPut().record(() -> shard.getRedisTemplate().executePipelined(
+                        new SessionCallback<Object>() {
+                            @Override
+                            @SuppressWarnings("unchecked")
+                            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                                chunk.forEach(id -> write(ops, id, values.get(id)));
+                                return null;
+                            }
+                        }));
+            }
+        });
+    }
+
+    /**
+     * 상품을 담은 장바구니 역인덱스에 고객을 추가한다.
+     * 장바구니에서 상품이 빠져도 바로 지우지 않으므로, 조회한 쪽에서 장바구니 내용을 다시 확인해야 한다.
+     */
+    public void addCartIndex(Long productId, Long customerId) {
+        String key = cartIndexKey(productId);
+        template(key).opsForSet().add(key, customerId.toString());
+    }
+
+    public Set<Long> getCartIndex(Long productId) {
+        String key = cartIndexKey(productId);
+        Set<Object> members = template(key).opsForSet().members(key);
+        Set<Long> customerIds = new HashSet<>();
+        if (members != null) {
+            members.forEach(member -> customerIds.add(Long.valueOf(member.toString())));
+        }
+        return customerIds;
+    }
+
+    public void deleteCartIndex(Long productId) {
+        String key = cartIndexKey(productId);
+        template(key).delete(key);
+    }
+
+    /**
+     * 마지막 접근 시각(epoch ms)이 before 이전인 고객 id 를 오래된 순으로 limit 개 돌려준다.
+     */
+    public List<Long> findIdleCustomerIds(long before, int limit) {
+        Set<Object> members = template(CartKeyPolicy.ACTIVITY_KEY).opsForZSet()
+                .rangeByScore(CartKeyPolicy.ACTIVITY_KEY, 0, before, 0, limit);
+        List<Long> customerIds = new ArrayList<>();
+        if (members != null) {
+            members.forEach(member -> customerIds.add(Long.valueOf(member.toString())));
+        }
+        return customerIds;
+    }
+
+    public Long getLastAccess(Long customerId) {
+        Double score = template(CartKeyPolicy.ACTIVITY_KEY).opsForZSet().score(CartKeyPolicy.ACTIVITY_KEY, customerId.toString());
+        return score == null ? null : score.longValue();
+    }
+
+    /**
+     * 보관할 때 읽은 값(stamp)이 그대로일 때만 장바구니 key 를 지우고, 활동 시각이 before 이전이면 활동 기록도 지운다.
+     * (장바구니가 없었으면 stamp 는 빈 문자열) 그 사이 쓰기가 있었으면 아무것도 지우지 않는다.
+     *
+     * @return 지웠으면 true
+     */
+    public boolean evictIfUnchanged(Long customerId, String stamp, long before) {
+        String key = cartKeyPolicy.cartKey(customerId);
+        Long deleted = template(key).execute(COMPARE_AND_DELETE,
+                List.of(key, cartKeyPolicy.versionKey(customerId)), stamp);
+        if (deleted == null || deleted != 1L) {
+            return false;
+        }
+        template(CartKeyPolicy.ACTIVITY_KEY).execute(REMOVE_IDLE_ACTIVITY,
+                List.of(CartKeyPolicy.ACTIVITY_KEY), customerId.toString(), String.valueOf(before));
+        return true;
+    }
+
+    private void touch(Long customerId) {
+        if (cartKeyPolicy.isTrackActivity()) {
+            template(CartKeyPolicy.ACTIVITY_KEY).opsForZSet().add(
+                    CartKeyPolicy.ACTIVITY_KEY, customerId.toString(), System.currentTimeMillis());
+        }
+    }
+
+    private RedisTemplate<String, Object> template(String key) {
+        return router.shard(key).getRedisTemplate();
+    }
+
+    private static String cartIndexKey(Long productId) {
+        return CART_PRODUCT_INDEX_PREFIX + productId;
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T decode(String value, Class<T> classType) {
+        orderMetrics.getRedisReadBytes().record(value.getBytes(StandardCharsets.UTF_8).length);
+        long start = System.nanoTime();
         try {
-            redisTemplate.opsForValue().set(key, mapper.writeValueAsString(cart));
+            return mapper.readValue(value, classType);
+        } catch (JsonProcessingException e) {
+            log.error("Parsing error", e);
+            return null;
+        } finally {
+            orderMetrics.getRedisDecode().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String encode(Cart cart) {
+        String value;
+        long start = System.nanoTime();
+        try {
+            value = mapper.writeValueAsString(cart);
         } catch (JsonProcessingException e) {
             throw new CustomException(CART_CHANGE_FAIL);
+        } finally {
+            orderMetrics.getRedisEncode().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+        orderMetrics.getRedisWriteBytes().record(value.getBytes(StandardCharsets.UTF_8).length);
+        return value;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stamped<T> {
+        private final T value;
+        private final String stamp;
     }
 }
@@ -0,0 +1,14 @@
+package com.zerobase.cms.order.client;
+
+import com.zerobase.cms.order.domain.product.StockNotificationType;
+
+import java.util.List;
+
+/**
+ * 재고 알림을 고객에게 전달한다. 한 번에 한 옵션의 구독자 한 페이지를 받는다.
+ * 실패하면 예외를 던진다. (같은 페이지부터 다시 보낸다)
+ */
+public interface StockNotificationSender {
+
+    void send(StockNotificationType type, Long productItemId, List<Long> customerIds);
+}
@@ -0,0 +1,55 @@
+package com.zerobase.cms.order.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * order.async.enabled=true 일 때 장바구니/검색 요청을 Tomcat 스레드 밖에서 처리할 executor.
+ * Java 21 이상이고 order.async.virtual-threads=true 면 가상 스레드를, 아니면 크기가 정해진 풀을 쓴다.
+ * (컴파일 타깃이 11 이라 가상 스레드 API 는 리플렉션으로 찾는다)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+public class AsyncRequestConfig {
+
+    @Bean(name = "requestExecutor")
+    public Executor requestExecutor(
+            @Value("${order.async.virtual-threads:true}") boolean virtualThreads,
+            @Value("${order.async.pool-size:64}") int poolSize,
+            @Value("${order.async.queue-capacity:1000}") int queueCapacity
+    ) {
+        if (virtualThreads) {
+            ExecutorService executor = newVirtualThreadExecutor();
+            if (executor != null) {
+                log.info("async request mode - virtual threads");
+                return executor;
+            }
+        }
+        log.info("async request mode - bounded pool (size: {}, queue: {})", poolSize, queueCapacity);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-io-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.zerobase.cms.order.config;
+
+import com.zerobase.cms.order.domain.audit.AuditMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuditConfig {
+
+    /**
+     * ASYNC / OUTBOX 에서는 Envers 의 동기 리스너를 끄고 AuditCaptureListener 로 대체한다.
+     * (audit 테이블 매핑과 AuditReader 조회는 그대로 Envers 를 사용)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer auditHibernatePropertiesCustomizer(
+            @Value("${audit.mode:SYNC}") AuditMode mode
+    ) {
+        return properties -> {
+            if (mode != AuditMode.SYNC) {
+                properties.put("hibernate.envers.autoRegisterListeners", "false");
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.zerobase.cms.order.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zerobase.cms.order.config.datasource.PrimaryPin;
+import com.zerobase.cms.order.config.datasource.PrimaryPinFilter;
+import com.zerobase.cms.order.config.datasource.ReadWriteRoutingDataSource;
+import com.zerobase.cms.order.config.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * order.datasource.replica.url 이 있으면 읽기 전용 트랜잭션을 replica 로 보내는 DataSource 를 만든다.
+ * (없으면 spring.datasource.* 하나만 쓰는 기본 구성)
+ * replica 계정/드라이버는 따로 주지 않으면 primary 와 같다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.datasource.replica.url")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("order.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${order.datasource.replica.url}") String url,
+            @Value("${order.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${order.datasource.replica.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public PrimaryPin primaryPin(
+            @Value("${order.datasource.pin-ms:3000}") long pinMillis,
+            @Value("${order.datasource.pin-max-sessions:100000}") int maxSessions
+    ) {
+        return new PrimaryPin(pinMillis, maxSessions);
+    }
+
+    @Bean
+    public PrimaryPinFilter primaryPinFilter() {
+        return new PrimaryPinFilter();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${order.datasource.replica.max-lag-ms:3000}") long maxLagMillis
+    ) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLagMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            PrimaryPin primaryPin,
+            ReplicaLagMonitor replicaLagMonitor
+    ) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryPin, replicaLagMonitor);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
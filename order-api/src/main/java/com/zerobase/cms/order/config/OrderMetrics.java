@@ -0,0 +1,80 @@
+package com.zerobase.cms.order.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 장바구니 / Redis / 검색 경로의 meter 모음.
+ * 호출마다 registry 조회를 하지 않도록 기동 시 한 번 등록해 두고 필드로 꺼내 쓴다.
+ * /actuator/prometheus 로 노출된다.
+ */
+@Getter
+@Component
+public class OrderMetrics {
+    private final Timer cartAdd;
+    private final Timer cartGet;
+    private final Timer cartRefresh;
+    private final DistributionSummary cartProducts;
+    private final DistributionSummary cartItems;
+
+    private final Timer redisGet;
+    private final Timer redisPut;
+    private final Timer redisDecode;
+    private final Timer redisEncode;
+    private final DistributionSummary redisReadBytes;
+    private final DistributionSummary redisWriteBytes;
+    private final Counter redisHit;
+    private final Counter redisMiss;
+    private final Counter localCacheHit;
+    private final Counter localCacheStale;
+    private final Counter localCacheMiss;
+
+    private final Timer searchByName;
+
+    public OrderMetrics(MeterRegistry registry) {
+        cartAdd = timer(registry, "cart.operation", "add");
+        cartGet = timer(registry, "cart.operation", "get");
+        cartRefresh = timer(registry, "cart.operation", "refresh");
+        cartProducts = DistributionSummary.builder("cart.size")
+                .tag("unit", "products")
+                .publishPercentileHistogram()
+                .register(registry);
+        cartItems = DistributionSummary.builder("cart.size")
+                .tag("unit", "items")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        redisGet = timer(registry, "redis.command", "get");
+        redisPut = timer(registry, "redis.command", "set");
+        redisDecode = timer(registry, "redis.codec", "decode");
+        redisEncode = timer(registry, "redis.codec", "encode");
+        redisReadBytes = payload(registry, "read");
+        redisWriteBytes = payload(registry, "write");
+        redisHit = Counter.builder("redis.cache").tag("result", "hit").register(registry);
+        redisMiss = Counter.builder("redis.cache").tag("result", "miss").register(registry);
+        localCacheHit = Counter.builder("cart.local.cache").tag("result", "hit").register(registry);
+        localCacheStale = Counter.builder("cart.local.cache").tag("result", "stale").register(registry);
+        localCacheMiss = Counter.builder("cart.local.cache").tag("result", "miss").register(registry);
+
+        searchByName = timer(registry, "product.search", "name");
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary payload(MeterRegistry registry, String direction) {
+        return DistributionSummary.builder("redis.payload")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -1,26 +1,152 @@
 package com.zerobase.cms.order.config;
 
+import com.zerobase.cms.order.client.CartRedisRouter;
+import io.lettuce.core.ReadFrom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @EnableRedisRepositories
 public class RedisConfig {
 
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        return stringTemplate(redisConnectionFactory);
+    }
+
+    /**
+     * cart.redis.nodes 가 비어 있으면 기본 연결 하나를 쓰고,
+     * host:port 목록이 있으면 노드마다 연결을 만들어 consistent hashing 으로 나눈다.
+     * cart.redis.replicas 는 nodes 와 같은 순서의 replica host:port 목록이다. (없는 노드는 빈 값)
+     * replica 읽기는 reactiveReplicaTemplate 전용 연결에서만 켜고, 나머지 template 은 master 에서 읽는다.
+     */
+    @Bean
+    public CartRedisRouter cartRedisRouter(
+            RedisConnectionFactory redisConnectionFactory,
+            RedisTemplate<String, Object> redisTemplate,
+            ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+            RedisProperties redisProperties,
+            @Value("${cart.redis.nodes:}") List<String> nodes,
+            @Value("${cart.redis.replicas:}") List<String> replicas,
+            @Value("${cart.redis.replica-reads:false}") boolean replicaReads
+    ) {
+        if (nodes.isEmpty()) {
+            if (!replicaReads || !(redisConnectionFactory instanceof LettuceConnectionFactory)) {
+                return new CartRedisRouter(List.of(new CartRedisRouter.Shard(
+                        "default", redisTemplate, reactiveStringRedisTemplate, reactiveStringRedisTemplate
+                )), replicaReads, List.of());
+            }
+            LettuceConnectionFactory reader =
+                    replicaConnectionFactory((LettuceConnectionFactory) redisConnectionFactory, redisProperties);
+            return new CartRedisRouter(List.of(new CartRedisRouter.Shard(
+                    "default", redisTemplate, reactiveStringRedisTemplate, new ReactiveStringRedisTemplate(reader)
+            )), replicaReads, List.of(reader));
+        }
+
+        List<CartRedisRouter.Shard> shards = new ArrayList<>(nodes.size());
+        List<LettuceConnectionFactory> factories = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            String node = nodes.get(i).trim();
+            LettuceConnectionFactory master = connectionFactory(
+                    new RedisStandaloneConfiguration(host(node), port(node)), redisProperties, null);
+            factories.add(master);
+
+            LettuceConnectionFactory reader = master;
+            String replica = i < replicas.size() ? replicas.get(i).trim() : "";
+            if (replicaReads && !replica.isEmpty()) {
+                RedisStaticMasterReplicaConfiguration configuration =
+                        new RedisStaticMasterReplicaConfiguration(host(node), port(node));
+                configuration.addNode(host(replica), port(replica));
+                reader = connectionFactory(configuration, redisProperties, ReadFrom.REPLICA_PREFERRED);
+                factories.add(reader);
+            }
+            shards.add(new CartRedisRouter.Shard(node, stringTemplate(master),
+                    new ReactiveStringRedisTemplate(master), new ReactiveStringRedisTemplate(reader)));
+        }
+        return new CartRedisRouter(shards, replicaReads, factories);
+    }
+
+    /**
+     * 기본 연결(단일 노드 / Redis Cluster)과 같은 대상으로 replica 를 우선 읽는 연결을 따로 만든다.
+     * Lettuce 는 읽기 전용 명령만 replica 로 보낸다.
+     */
+    private static LettuceConnectionFactory replicaConnectionFactory(
+            LettuceConnectionFactory defaultFactory, RedisProperties redisProperties
+    ) {
+        LettuceClientConfiguration clientConfiguration =
+                clientConfiguration(redisProperties, ReadFrom.REPLICA_PREFERRED);
+        LettuceConnectionFactory factory = defaultFactory.getClusterConfiguration() != null
+                ? new LettuceConnectionFactory(defaultFactory.getClusterConfiguration(), clientConfiguration)
+                : new LettuceConnectionFactory(defaultFactory.getStandaloneConfiguration(), clientConfiguration);
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private static RedisTemplate<String, Object> stringTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         StringRedisSerializer serializer = new StringRedisSerializer();
 
-        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        redisTemplate.setConnectionFactory(connectionFactory);
         redisTemplate.setKeySerializer(serializer);
         redisTemplate.setValueSerializer(serializer);
         redisTemplate.setHashKeySerializer(serializer);
         redisTemplate.setHashValueSerializer(serializer);
+        redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
+
+    private static LettuceConnectionFactory connectionFactory(
+            RedisStandaloneConfiguration configuration, RedisProperties redisProperties, ReadFrom readFrom
+    ) {
+        if (redisProperties.getPassword() != null) {
+            configuration.setPassword(redisProperties.getPassword());
+        }
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(configuration, clientConfiguration(redisProperties, readFrom));
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private static LettuceConnectionFactory connectionFactory(
+            RedisStaticMasterReplicaConfiguration configuration, RedisProperties redisProperties, ReadFrom readFrom
+    ) {
+        if (redisProperties.getPassword() != null) {
+            configuration.setPassword(redisProperties.getPassword());
+        }
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(configuration, clientConfiguration(redisProperties, readFrom));
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private static LettuceClientConfiguration clientConfiguration(RedisProperties redisProperties, ReadFrom readFrom) {
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder();
+        if (redisProperties.getTimeout() != null) {
+            builder.commandTimeout(redisProperties.getTimeout());
+        }
+        if (readFrom != null) {
+            builder.readFrom(readFrom);
+        }
+        return builder.build();
+    }
+
+    private static String host(String node) {
+        return node.substring(0, node.lastIndexOf(':'));
+    }
+
+    private static int port(String node) {
+        return Integer.parseInt(node.substring(node.lastIndexOf(':') + 1));
+    }
 }
@@ -0,0 +1,53 @@
+package com.zerobase.cms.order.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * springfox 3.0.0 은 PathPatternParser 를 쓰는 handler mapping 을 처리하지 못한다.
+ * actuator 의 endpoint mapping 은 matching-strategy 설정과 상관없이 PathPatternParser 를 쓰므로
+ * documentationPluginsBootstrapper 가 NPE 로 기동에 실패한다. springfox 가 보는 목록에서 이를 뺀다.
+ */
+@Configuration
+public class SpringfoxConfig {
+
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    removePatternParserMappings(handlerMappings(bean));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void removePatternParserMappings(List<RequestMappingInfoHandlerMapping> mappings) {
+        List<RequestMappingInfoHandlerMapping> antMappings = mappings.stream()
+                .filter(mapping -> mapping.getPatternParser() == null)
+                .collect(Collectors.toList());
+        mappings.clear();
+        mappings.addAll(antMappings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RequestMappingInfoHandlerMapping> handlerMappings(Object bean) {
+        Field field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+        if (field == null) {
+            throw new IllegalStateException("springfox handlerMappings field not found");
+        }
+        ReflectionUtils.makeAccessible(field);
+        return (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+    }
+}
@@ -0,0 +1,93 @@
+package com.zerobase.cms.order.config.audit;
+
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
+import com.zerobase.cms.order.domain.audit.AuditMode;
+import com.zerobase.cms.order.domain.audit.AuditRecord;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.service.AuditPipeline;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.*;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envers 리스너 대신 등록되어 Product / ProductItem 변경을 트랜잭션 단위로 모은다.
+ * OUTBOX 는 커밋 직전에 outbox 한 행을 쓰고, ASYNC 는 커밋 성공 후 큐에 넣는다.
+ */
+@RequiredArgsConstructor
+public class AuditCaptureListener implements
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String INSERT_OUTBOX = "insert into audit_outbox (payload, created_at, attempts, dead_letter) values (?, ?, 0, false)";
+
+    private final AuditPipeline auditPipeline;
+    private final Map<EventSource, AuditChangeSet> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(event.getSession(), event.getEntity(), RevisionType.ADD);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(event.getSession(), event.getEntity(), RevisionType.MOD);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(event.getSession(), event.getEntity(), RevisionType.DEL);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void capture(EventSource session, Object entity, RevisionType revisionType) {
+        AuditRecord record;
+        if (entity instanceof Product) {
+            record = AuditRecord.of((Product) entity, revisionType);
+        } else if (entity instanceof ProductItem) {
+            record = AuditRecord.of((ProductItem) entity, revisionType);
+        } else {
+            return;
+        }
+
+        pending.computeIfAbsent(session, s -> {
+            registerCompletion(s);
+            return AuditChangeSet.now();
+        }).add(record);
+    }
+
+    private void registerCompletion(EventSource session) {
+        if (auditPipeline.getMode() == AuditMode.OUTBOX) {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s -> {
+                AuditChangeSet changeSet = pending.remove(session);
+                if (changeSet == null) {
+                    return;
+                }
+                String payload = auditPipeline.serialize(changeSet);
+                s.doWork(connection -> {
+                    try (PreparedStatement ps = connection.prepareStatement(INSERT_OUTBOX)) {
+                        ps.setString(1, payload);
+                        ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                        ps.executeUpdate();
+                    }
+                });
+            });
+        }
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) -> {
+            AuditChangeSet changeSet = pending.remove(session);
+            if (success && changeSet != null && auditPipeline.getMode() == AuditMode.ASYNC) {
+                auditPipeline.enqueue(changeSet);
+            }
+        });
+    }
+}
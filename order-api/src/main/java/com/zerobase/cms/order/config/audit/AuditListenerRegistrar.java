@@ -0,0 +1,33 @@
+package com.zerobase.cms.order.config.audit;
+
+import com.zerobase.cms.order.domain.audit.AuditMode;
+import com.zerobase.cms.order.service.AuditPipeline;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@RequiredArgsConstructor
+public class AuditListenerRegistrar {
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditPipeline auditPipeline;
+
+    @PostConstruct
+    public void register() {
+        if (auditPipeline.getMode() == AuditMode.SYNC) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+
+        AuditCaptureListener listener = new AuditCaptureListener(auditPipeline);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+}
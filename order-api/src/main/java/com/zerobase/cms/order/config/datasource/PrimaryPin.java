@@ -0,0 +1,66 @@
+package com.zerobase.cms.order.config.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 쓰기를 커밋한 세션(X-AUTH-TOKEN)의 읽기를 window 동안 primary 로 보내 자기가 쓴 값을 바로 읽게 한다.
+ * 세션은 PrimaryPinFilter 가 요청 스레드에 묶는다. (세션이 없는 스케줄러 등은 고정하지 않는다)
+ * 고정 정보는 인스턴스 메모리에만 있으므로 같은 세션의 요청이 같은 인스턴스로 가야(sticky session) 한다.
+ */
+public class PrimaryPin {
+    private static final ThreadLocal<String> SESSION = new ThreadLocal<>();
+
+    private final long windowMillis;
+    private final Map<String, Long> pinnedUntil;
+
+    public PrimaryPin(long windowMillis, int maxSize) {
+        this.windowMillis = windowMillis;
+        // access order LRU
+        this.pinnedUntil = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public static void bind(String session) {
+        SESSION.set(session);
+    }
+
+    public static String currentSession() {
+        return SESSION.get();
+    }
+
+    public static void clear() {
+        SESSION.remove();
+    }
+
+    public boolean isPinned() {
+        String session = SESSION.get();
+        if (session == null) {
+            return false;
+        }
+        synchronized (pinnedUntil) {
+            Long until = pinnedUntil.get(session);
+            if (until == null) {
+                return false;
+            }
+            if (until < System.currentTimeMillis()) {
+                pinnedUntil.remove(session);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    public void pin(String session) {
+        if (session == null) {
+            return;
+        }
+        synchronized (pinnedUntil) {
+            pinnedUntil.put(session, System.currentTimeMillis() + windowMillis);
+        }
+    }
+}
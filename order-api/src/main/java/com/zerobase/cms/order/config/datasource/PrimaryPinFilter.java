@@ -0,0 +1,28 @@
+package com.zerobase.cms.order.config.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청의 X-AUTH-TOKEN 을 PrimaryPin 의 세션으로 요청 스레드에 묶는다.
+ * (order.async.enabled 의 작업 스레드로는 넘어가지 않는다 - 장바구니/검색은 판매자 쓰기와 세션이 다르다)
+ */
+public class PrimaryPinFilter extends OncePerRequestFilter {
+    private static final String TOKEN_HEADER = "X-AUTH-TOKEN";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PrimaryPin.bind(request.getHeader(TOKEN_HEADER));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryPin.clear();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.zerobase.cms.order.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 replica 로, 나머지는 primary 로 보낸다.
+ * Spring Data 의 @Query / QueryDSL 메서드는 스스로 트랜잭션을 열지 않으므로 서비스에서 readOnly 로 열어야 한다.
+ * 아래 경우에는 읽기 전용이어도 primary 를 쓴다.
+ * - 복제 지연이 커서 ReplicaLagMonitor 가 replica 를 막았을 때
+ * - 같은 세션이 방금 쓰기를 커밋해 PrimaryPin 에 고정되어 있을 때
+ * 트랜잭션 속성이 정해진 뒤에 커넥션을 고르도록 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final PrimaryPin primaryPin;
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReadWriteRoutingDataSource(PrimaryPin primaryPin, ReplicaLagMonitor replicaLagMonitor) {
+        this.primaryPin = primaryPin;
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaLagMonitor.isReplicaUsable() && !primaryPin.isPinned() ? Route.REPLICA : Route.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            String session = PrimaryPin.currentSession();
+            if (session != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        primaryPin.pin(session);
+                    }
+                });
+            }
+        }
+        return Route.PRIMARY;
+    }
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+}
@@ -0,0 +1,83 @@
+package com.zerobase.cms.order.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * primary 의 replica_heartbeat 에 주기적으로 시각을 쓰고 replica 에서 읽어 복제 지연을 잰다.
+ * 지연은 replica 가 가진 가장 최근 heartbeat 의 나이(now - beat_at)로 본다.
+ * heartbeat 는 lag-check-ms 마다 쓰므로 밀리지 않아도 최대 lag-check-ms 만큼 잡힌다.
+ * max-lag-ms 는 lag-check-ms 에 허용할 복제 지연을 더한 값으로 둔다.
+ * 지연이 max-lag-ms 를 넘거나 replica 를 읽지 못하면 읽기 전용 트랜잭션도 primary 로 보낸다.
+ * 여러 인스턴스가 같은 행을 쓰면 다른 인스턴스의 시각과 비교하므로 서버 시계 차이만큼 오차가 생긴다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final String UPDATE_BEAT = "update replica_heartbeat set beat_at = ? where id = 1";
+    private static final String INSERT_BEAT = "insert into replica_heartbeat (id, beat_at) values (1, ?)";
+    private static final String SELECT_BEAT = "select beat_at from replica_heartbeat where id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${order.datasource.replica.lag-check-ms:1000}")
+    public synchronized void check() {
+        long now = System.currentTimeMillis();
+        Long seen = readBeat();
+        boolean usable = false;
+        if (seen != null) {
+            long lag = Math.max(0, now - seen);
+            usable = lag <= maxLagMillis;
+            if (!usable) {
+                log.warn("replica lag {}ms exceeds {}ms - reads go to primary", lag, maxLagMillis);
+            }
+        }
+        if (usable != replicaUsable) {
+            log.info("replica reads {}", usable ? "enabled" : "disabled");
+        }
+        replicaUsable = usable;
+        writeBeat(now);
+    }
+
+    private Long readBeat() {
+        try {
+            List<Long> beats = replica.queryForList(SELECT_BEAT, Long.class);
+            return beats.isEmpty() ? null : beats.get(0);
+        } catch (DataAccessException e) {
+            log.warn("replica heartbeat read fail", e);
+            return null;
+        }
+    }
+
+    private void writeBeat(long now) {
+        try {
+            if (primary.update(UPDATE_BEAT, now) == 0) {
+                primary.update(INSERT_BEAT, now);
+            }
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 먼저 행을 만들었다. 다음 주기에 update 한다.
+            log.debug("replica heartbeat row created by another instance");
+        } catch (DataAccessException e) {
+            log.warn("primary heartbeat write fail", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.zerobase.cms.order.controller;
+
+import com.zerobase.cms.order.application.AsyncRequestExecutor;
+import com.zerobase.cms.order.application.CartApplication;
+import com.zerobase.cms.order.application.CartMessageRenderer;
+import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.product.PatchCartForm;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * order.async.enabled=true 일 때 CustomerCartController 대신 등록된다.
+ * 토큰 확인과 locale 결정은 요청 스레드에서, Redis / DB 접근은 requestExecutor 에서 처리한다.
+ */
+@RestController
+@RequestMapping("/customer/cart")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+public class AsyncCustomerCartController {
+
+    private final CartApplication cartApplication;
+    private final CartMessageRenderer cartMessageRenderer;
+    private final AsyncRequestExecutor asyncRequestExecutor;
+    private final JwtAuthenticationProvider provider;
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Cart>> addCart(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestBody AddProductCartForm form,
+            Locale locale) {
+        Long customerId = provider.getUserVo(token).getId();
+        return asyncRequestExecutor.supply(() ->
+                cartMessageRenderer.render(cartApplication.addCart(customerId, form), locale));
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<Cart>> showCart(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            Locale locale
+    ) {
+        Long customerId = provider.getUserVo(token).getId();
+        return asyncRequestExecutor.supply(() ->
+                cartMessageRenderer.render(cartApplication.getCart(customerId), locale));
+    }
+
+    @PutMapping
+    public CompletableFuture<ResponseEntity<Cart>> updateCart(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestBody Cart cart,
+            Locale locale
+    ) {
+        Long customerId = provider.getUserVo(token).getId();
+        return asyncRequestExecutor.supply(() ->
+                cartMessageRenderer.render(cartApplication.updateCart(customerId, cart), locale));
+    }
+
+    @PatchMapping
+    public CompletableFuture<ResponseEntity<Cart>> patchCart(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestBody PatchCartForm form,
+            Locale locale
+    ) {
+        Long customerId = provider.getUserVo(token).getId();
+        return asyncRequestExecutor.supply(() ->
+                cartMessageRenderer.render(cartApplication.patchCart(customerId, form), locale));
+    }
+}
@@ -0,0 +1,71 @@
+package com.zerobase.cms.order.controller;
+
+import com.zerobase.cms.order.application.AsyncRequestExecutor;
+import com.zerobase.cms.order.domain.price.PriceChangeDto;
+import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.service.PriceHistoryService;
+import com.zerobase.cms.order.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * order.async.enabled=true 일 때 SearchController 대신 등록된다.
+ */
+@RestController
+@RequestMapping("/search/product")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+public class AsyncSearchController {
+    private final ProductSearchService productSearchService;
+    private final PriceHistoryService priceHistoryService;
+    private final AsyncRequestExecutor asyncRequestExecutor;
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<ProductDto>>> searchByName(
+            @RequestParam String name
+    ) {
+        return asyncRequestExecutor.supplyReadOnly(() ->
+                productSearchService.searchByName(name).stream()
+                        .map(ProductDto::from).collect(Collectors.toList())
+        );
+    }
+
+    @GetMapping("/detail")
+    public CompletableFuture<ResponseEntity<ProductDto>> getDetail(
+            @RequestParam Long productId
+    ) {
+        return asyncRequestExecutor.supplyReadOnly(() ->
+                ProductDto.from(productSearchService.getByProductId(productId))
+        );
+    }
+
+    @GetMapping("/item/price")
+    public CompletableFuture<ResponseEntity<Integer>> getPriceAt(
+            @RequestParam Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return asyncRequestExecutor.supply(() -> priceHistoryService.getPriceAt(itemId, at));
+    }
+
+    @GetMapping("/item/price-changes")
+    public CompletableFuture<ResponseEntity<List<PriceChangeDto>>> getPriceChanges(
+            @RequestParam List<Long> itemIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since
+    ) {
+        return asyncRequestExecutor.supply(() ->
+                priceHistoryService.getPriceChanges(itemIds, since).stream()
+                        .map(PriceChangeDto::from).collect(Collectors.toList())
+        );
+    }
+}
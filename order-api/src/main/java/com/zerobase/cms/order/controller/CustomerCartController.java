@@ -1,44 +1,66 @@
 package com.zerobase.cms.order.controller;
 
 import com.zerobase.cms.order.application.CartApplication;
+import com.zerobase.cms.order.application.CartMessageRenderer;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.product.PatchCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.service.CartService;
 import com.zerobase.domain.config.JwtAuthenticationProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.sql.Struct;
+import java.util.Locale;
 
 @RestController
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "false", matchIfMissing = true)
 @RequestMapping("/customer/cart")
 @RequiredArgsConstructor
 public class CustomerCartController {
 
     // 임시 코드
     private final CartApplication cartApplication;
+    private final CartMessageRenderer cartMessageRenderer;
     private final JwtAuthenticationProvider provider;
 
     @PostMapping
     public ResponseEntity<Cart> addCart(
             @RequestHeader(name = "X-AUTH-TOKEN") String token,
-            @RequestBody AddProductCartForm form) {
-        return ResponseEntity.ok(cartApplication.addCart(provider.getUserVo(token).getId(), form));
+            @RequestBody AddProductCartForm form,
+            Locale locale) {
+        return ResponseEntity.ok(cartMessageRenderer.render(
+                cartApplication.addCart(provider.getUserVo(token).getId(), form), locale));
     }
 
     @GetMapping
     public ResponseEntity<Cart> showCart(
-            @RequestHeader(name = "X-AUTH-TOKEN") String token
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            Locale locale
     ) {
-        return ResponseEntity.ok(cartApplication.getCart(provider.getUserVo(token).getId()));
+        return ResponseEntity.ok(cartMessageRenderer.render(
+                cartApplication.getCart(provider.getUserVo(token).getId()), locale));
     }
 
     @PutMapping
     public ResponseEntity<Cart> updateCart(
             @RequestHeader(name = "X-AUTH-TOKEN") String token,
-            @RequestBody Cart cart
+            @RequestBody Cart cart,
+            Locale locale
+    ) {
+        return ResponseEntity.ok(cartMessageRenderer.render(
+                cartApplication.updateCart(provider.getUserVo(token).getId(), cart), locale));
+    }
+
+    @PatchMapping
+    public ResponseEntity<Cart> patchCart(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestBody PatchCartForm form,
+            Locale locale
     ) {
-        return ResponseEntity.ok(cartApplication.updateCart(provider.getUserVo(token).getId(), cart));
+        return ResponseEntity.ok(cartMessageRenderer.render(
+                cartApplication.patchCart(provider.getUserVo(token).getId(), form), locale));
     }
 }
@@ -0,0 +1,34 @@
+package com.zerobase.cms.order.controller;
+
+import com.zerobase.cms.order.service.StockNotificationService;
+import com.zerobase.domain.config.JwtAuthenticationProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/customer/stock-subscription")
+@RequiredArgsConstructor
+public class CustomerStockSubscriptionController {
+
+    private final StockNotificationService stockNotificationService;
+    private final JwtAuthenticationProvider provider;
+
+    @PostMapping
+    public ResponseEntity<Void> subscribe(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestParam Long itemId
+    ) {
+        stockNotificationService.subscribe(provider.getUserVo(token).getId(), itemId);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> unsubscribe(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestParam Long itemId
+    ) {
+        stockNotificationService.unsubscribe(provider.getUserVo(token).getId(), itemId);
+        return ResponseEntity.ok().build();
+    }
+}
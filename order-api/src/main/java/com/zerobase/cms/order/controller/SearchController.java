@@ -1,22 +1,29 @@
 package com.zerobase.cms.order.controller;
 
+import com.zerobase.cms.order.domain.price.PriceChangeDto;
 import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.service.PriceHistoryService;
 import com.zerobase.cms.order.service.ProductSearchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "false", matchIfMissing = true)
 @RequestMapping("/search/product")
 @RequiredArgsConstructor
 public class SearchController {
     private final ProductSearchService productSearchService;
+    private final PriceHistoryService priceHistoryService;
 
     @GetMapping
     public ResponseEntity<List<ProductDto>> searchByName(
@@ -36,4 +43,23 @@ public class SearchController {
                 ProductDto.from(productSearchService.getByProductId(productId))
         );
     }
+
+    @GetMapping("/item/price")
+    public ResponseEntity<Integer> getPriceAt(
+            @RequestParam Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return ResponseEntity.ok(priceHistoryService.getPriceAt(itemId, at));
+    }
+
+    @GetMapping("/item/price-changes")
+    public ResponseEntity<List<PriceChangeDto>> getPriceChanges(
+            @RequestParam List<Long> itemIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since
+    ) {
+        return ResponseEntity.ok(
+                priceHistoryService.getPriceChanges(itemIds, since).stream()
+                        .map(PriceChangeDto::from).collect(Collectors.toList())
+        );
+    }
 }
@@ -1,12 +1,18 @@
 package com.zerobase.cms.order.controller;
 
 import com.zerobase.cms.order.domain.product.*;
+import com.zerobase.cms.order.service.ProductImportService;
 import com.zerobase.cms.order.service.ProductItemService;
+import com.zerobase.cms.order.service.ProductSearchService;
 import com.zerobase.cms.order.service.ProductService;
+import com.zerobase.cms.order.service.SellerStatsService;
 import com.zerobase.domain.config.JwtAuthenticationProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/seller/product")
@@ -15,8 +21,29 @@ public class SellerProductController {
 
     private final ProductService productService;
     private final ProductItemService productItemService;
+    private final ProductSearchService productSearchService;
+    private final ProductImportService productImportService;
+    private final SellerStatsService sellerStatsService;
     private final JwtAuthenticationProvider provider;
 
+    @GetMapping
+    public ResponseEntity<SellerProductPage> getProducts(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(productSearchService.getSellerProducts(
+                provider.getUserVo(token).getId(), cursor, size
+        ));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<SellerStatsDto> getStats(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token
+    ) {
+        return ResponseEntity.ok(sellerStatsService.getStats(provider.getUserVo(token).getId()));
+    }
+
     @PostMapping
     public ResponseEntity<ProductDto> addProduct(
             @RequestHeader(name = "X-AUTH-TOKEN") String token,
@@ -27,6 +54,16 @@ public class SellerProductController {
         )));
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<ProductImportResult> importProducts(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestParam("file") MultipartFile file
+    ) {
+        return ResponseEntity.ok(productImportService.importProducts(
+                provider.getUserVo(token).getId(), file
+        ));
+    }
+
     @PostMapping("/item")
     public ResponseEntity<ProductDto> addProductItem(
             @RequestHeader(name = "X-AUTH-TOKEN") String token,
@@ -61,6 +98,16 @@ public class SellerProductController {
         );
     }
 
+    @PutMapping("/items/bulk")
+    public ResponseEntity<BulkUpdateResult> updateProductItemStocks(
+            @RequestHeader(name = "X-AUTH-TOKEN") String token,
+            @RequestBody List<UpdateProductItemStockForm> forms
+    ) {
+        return ResponseEntity.ok(productItemService.updateProductItemStocks(
+                provider.getUserVo(token).getId(), forms
+        ));
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> deleteProduct(
             @RequestHeader(name = "X-AUTH-TOKEN") String token,
@@ -0,0 +1,73 @@
+package com.zerobase.cms.order.domain.audit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.envers.RevisionType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 트랜잭션에서 발생한 변경분 = Envers revision 하나.
+ * 같은 행은 revision 안에 한 번만 남도록 (target, id) 단위로 합친다. (Envers work unit merge 와 같은 규칙)
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditChangeSet {
+    @Getter
+    private long timestamp;
+    @Getter
+    private List<AuditRecord> records = new ArrayList<>();
+
+    @JsonIgnore
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    public static AuditChangeSet now() {
+        return new AuditChangeSet(System.currentTimeMillis(), new ArrayList<>());
+    }
+
+    /**
+     * 한 트랜잭션에서 같은 엔티티가 여러 번 flush 되면 기존 기록과 합친다.
+     * ADD → MOD 는 최신 상태의 ADD, DEL → ADD 는 MOD, 뒤에 온 DEL 은 그대로 DEL 이 된다.
+     */
+    public void add(AuditRecord record) {
+        if (positions.size() != records.size()) {
+            reindex();
+        }
+        String key = key(record);
+        Integer position = positions.get(key);
+        if (position == null) {
+            positions.put(key, records.size());
+            records.add(record);
+        } else {
+            records.set(position, merge(records.get(position), record));
+        }
+    }
+
+    private void reindex() {
+        positions.clear();
+        for (int i = 0; i < records.size(); i++) {
+            positions.put(key(records.get(i)), i);
+        }
+    }
+
+    private static String key(AuditRecord record) {
+        return record.getTarget() + ":" + record.getId();
+    }
+
+    private static AuditRecord merge(AuditRecord previous, AuditRecord next) {
+        RevisionType before = previous.getRevisionType();
+        switch (next.getRevisionType()) {
+            case MOD:
+                return before == RevisionType.ADD ? next.withRevisionType(RevisionType.ADD) : next;
+            case ADD:
+                return before == RevisionType.DEL ? next.withRevisionType(RevisionType.MOD) : next;
+            default:
+                return next;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.zerobase.cms.order.domain.audit;
+
+public enum AuditMode {
+    // Envers 기본 동작 - 요청 트랜잭션 안에서 revision / _aud 를 기록
+    SYNC,
+    // 커밋 후 메모리 큐에 넣고 백그라운드에서 batch 기록 (프로세스가 죽으면 유실 가능)
+    ASYNC,
+    // 요청 트랜잭션에는 outbox 한 행만 기록, 백그라운드에서 audit 테이블로 옮김 (유실 없음)
+    OUTBOX
+}
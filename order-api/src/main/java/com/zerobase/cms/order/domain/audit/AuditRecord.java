@@ -0,0 +1,80 @@
+package com.zerobase.cms.order.domain.audit;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.envers.RevisionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * _aud 테이블 한 행에 해당하는 스냅샷.
+ */
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditRecord {
+    private AuditTarget target;
+    private Long id;
+    private RevisionType revisionType;
+
+    private Long sellerId;
+    private Long productId;
+    private String name;
+    private String description;
+    private Integer price;
+    private Integer count;
+    private LocalDateTime createdAt;
+    private LocalDateTime modifiedAt;
+
+    public static AuditRecord of(Product product, RevisionType revisionType) {
+        return AuditRecord.builder()
+                .target(AuditTarget.PRODUCT)
+                .id(product.getId())
+                .revisionType(revisionType)
+                .sellerId(product.getSellerId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .createdAt(product.getCreatedAt())
+                .modifiedAt(product.getModifiedAt())
+                .build();
+    }
+
+    public static AuditRecord of(ProductItem item, RevisionType revisionType) {
+        return AuditRecord.builder()
+                .target(AuditTarget.PRODUCT_ITEM)
+                .id(item.getId())
+                .revisionType(revisionType)
+                .sellerId(item.getSellerId())
+                .productId(item.getProduct() == null ? null : item.getProduct().getId())
+                .name(item.getName())
+                .price(item.getPrice())
+                .count(item.getCount())
+                .createdAt(item.getCreatedAt())
+                .modifiedAt(item.getModifiedAt())
+                .build();
+    }
+
+    /**
+     * JDBC 로 지운 행의 DEL 기록. (Envers 와 같이 id 외 데이터는 남기지 않는다)
+     */
+    public static AuditRecord deleted(AuditTarget target, Long id) {
+        return AuditRecord.builder()
+                .target(target)
+                .id(id)
+                .revisionType(RevisionType.DEL)
+                .build();
+    }
+
+    public AuditRecord withRevisionType(RevisionType revisionType) {
+        return toBuilder().revisionType(revisionType).build();
+    }
+
+    public enum AuditTarget {
+        PRODUCT, PRODUCT_ITEM
+    }
+}
@@ -0,0 +1,36 @@
+package com.zerobase.cms.order.domain.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * audit.mode=OUTBOX 일 때 변경분(AuditChangeSet JSON)을 업무 트랜잭션과 함께 커밋해 두는 테이블.
+ * AuditPipeline 이 주기적으로 읽어 audit 테이블에 옮긴 뒤 삭제한다.
+ * 옮기다 실패한 행은 attempts / lastError 를 남기고, max-attempts 를 넘으면 deadLetter 로 빼 relay 대상에서 제외한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "audit_outbox",
+        indexes = @Index(name = "idx_audit_outbox_dead_letter_id", columnList = "dead_letter, id"))
+public class AuditOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private boolean deadLetter;
+}
@@ -0,0 +1,49 @@
+package com.zerobase.cms.order.domain.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.envers.RevisionEntity;
+import org.hibernate.envers.RevisionNumber;
+import org.hibernate.envers.RevisionTimestamp;
+
+import javax.persistence.*;
+
+/**
+ * Envers revision 테이블.
+ * 비동기 audit 경로(AuditRepository)가 같은 id 테이블에서 revision 번호를 예약할 수 있도록
+ * 기본 REVINFO 대신 pooled-lo id 를 쓰는 엔티티를 둔다.
+ * priceIndexed 는 PriceHistoryIndexer 가 이 revision 을 반영했는지 표시한다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@RevisionEntity
+@Table(name = "audit_revision",
+        indexes = @Index(name = "idx_audit_revision_price_indexed", columnList = "price_indexed, id"))
+public class AuditRevision {
+    @Id
+    @RevisionNumber
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "audit_revision_id_generator")
+    @GenericGenerator(
+            name = "audit_revision_id_generator",
+            strategy = IdSequence.GENERATOR,
+            parameters = {
+                    @Parameter(name = "table_name", value = IdSequence.TABLE),
+                    @Parameter(name = "segment_column_name", value = IdSequence.SEGMENT_COLUMN),
+                    @Parameter(name = "value_column_name", value = IdSequence.VALUE_COLUMN),
+                    @Parameter(name = "segment_value", value = IdSequence.AUDIT_REVISION),
+                    @Parameter(name = "increment_size", value = IdSequence.INCREMENT_SIZE),
+                    @Parameter(name = "optimizer", value = IdSequence.OPTIMIZER)
+            })
+    private Long id;
+
+    @RevisionTimestamp
+    private long revisionTimestamp;
+
+    @Column(name = "price_indexed", nullable = false)
+    private boolean priceIndexed;
+}
@@ -0,0 +1,27 @@
+package com.zerobase.cms.order.domain.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 오래 접근하지 않아 Redis 에서 내린 장바구니. payload 는 Cart JSON 을 gzip 한 값이다.
+ * 다음 조회 때 Redis 로 다시 올리고 행은 지운다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartArchive {
+    @Id
+    private Long customerId;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,24 @@
+package com.zerobase.cms.order.domain.model;
+
+/**
+ * 엔티티 id 를 발급하는 공용 테이블(pooled-lo) 설정.
+ * IDENTITY 와 달리 insert 전에 id 를 알 수 있어 JDBC batch insert 가 가능하다.
+ * JDBC 로 직접 저장하는 경로도 {@link com.zerobase.cms.order.domain.repository.IdBlockAllocator}
+ * 를 통해 같은 테이블에서 id 블록을 예약한다.
+ */
+public final class IdSequence {
+    public static final String GENERATOR = "org.hibernate.id.enhanced.TableGenerator";
+    public static final String OPTIMIZER = "pooled-lo";
+    public static final String TABLE = "id_sequence";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final String INCREMENT_SIZE = "50";
+    public static final long INITIAL_VALUE = 1L;
+
+    public static final String PRODUCT = "product";
+    public static final String PRODUCT_ITEM = "product_item";
+    public static final String AUDIT_REVISION = "audit_revision";
+
+    private IdSequence() {
+    }
+}
@@ -0,0 +1,37 @@
+package com.zerobase.cms.order.domain.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * product_item_aud 에서 가격이 바뀐 revision 만 뽑아 만든 가격 구간.
+ * [validFrom, validTo) 동안 price 가 유지되었고, validTo 가 null 이면 현재 가격이다.
+ * PriceHistoryIndexer 가 채우며 직접 수정하지 않는다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_price_history_item_valid_from", columnList = "product_item_id, valid_from"))
+public class PriceHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_item_id", nullable = false)
+    private Long productItemId;
+
+    private Integer price;
+
+    private Integer previousPrice;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDateTime validFrom;
+
+    private LocalDateTime validTo;
+
+    private Long rev;
+}
@@ -2,13 +2,16 @@ package com.zerobase.cms.order.domain.model;
 
 import com.zerobase.cms.order.domain.product.AddProductForm;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.envers.AuditOverride;
 import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Entity
 @Setter
@@ -18,9 +21,26 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @Audited
 @AuditOverride(forClass = BaseEntity.class)
+@Table(indexes = {
+        // 판매자 상품 목록(keyset)을 인덱스만으로 읽기 위한 covering index
+        @Index(name = "idx_product_seller_id_id_name_deleted_at", columnList = "seller_id, id, name, deleted_at"),
+        // ProductReaper 가 삭제 요청된 상품을 찾는 용도
+        @Index(name = "idx_product_deleted_at", columnList = "deleted_at")
+})
 public class Product extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id_generator")
+    @GenericGenerator(
+            name = "product_id_generator",
+            strategy = IdSequence.GENERATOR,
+            parameters = {
+                    @Parameter(name = "table_name", value = IdSequence.TABLE),
+                    @Parameter(name = "segment_column_name", value = IdSequence.SEGMENT_COLUMN),
+                    @Parameter(name = "value_column_name", value = IdSequence.VALUE_COLUMN),
+                    @Parameter(name = "segment_value", value = IdSequence.PRODUCT),
+                    @Parameter(name = "increment_size", value = IdSequence.INCREMENT_SIZE),
+                    @Parameter(name = "optimizer", value = IdSequence.OPTIMIZER)
+            })
     private Long id;
 
     private Long sellerId;
@@ -29,18 +49,49 @@ public class Product extends BaseEntity {
 
     private String description;
 
-    @OneToMany(cascade = CascadeType.ALL)
-    @JoinColumn(name = "product_id")
+    // 삭제 요청 시각. 값이 있으면 조회에서 빠지고 ProductReaper 가 행을 지운다.
+    // 삭제 이력은 행을 지울 때 DEL revision 으로 남긴다.
+    @NotAudited
+    private LocalDateTime deletedAt;
+
+    // 연관관계의 주인은 ProductItem.product - insert 시점에 product_id 가 채워진다.
+    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
     private List<ProductItem> productItems = new ArrayList<>();
 
+    @Transient
+    private ProductItemIndex itemIndex;
+
     public static Product of(Long sellerId, AddProductForm form) {
-        return Product.builder()
+        Product product = Product.builder()
                 .sellerId(sellerId)
                 .name(form.getName())
                 .description(form.getDescription())
-                .productItems(form.getItems().stream()
-                        .map(piFrom->ProductItem.of(sellerId, piFrom))
-                        .collect(Collectors.toList()))
+                .productItems(new ArrayList<>())
                 .build();
+        form.getItems().forEach(piForm -> product.addProductItem(ProductItem.of(sellerId, piForm)));
+        return product;
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
+    public void addProductItem(ProductItem productItem) {
+        productItem.setProduct(this);
+        productItems.add(productItem);
+        if (itemIndex != null) {
+            itemIndex.add(productItem);
+        }
+    }
+
+    /**
+     * 아이템 id / 이름 색인. 처음 호출할 때 productItems 로 한 번 만든다.
+     * 신규 아이템의 id 는 flush 후에 정해지므로 id 조회는 저장된 아이템만 대상으로 한다.
+     */
+    public ProductItemIndex getItemIndex() {
+        if (itemIndex == null) {
+            itemIndex = new ProductItemIndex(productItems);
+        }
+        return itemIndex;
     }
 }
@@ -2,6 +2,8 @@ package com.zerobase.cms.order.domain.model;
 
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.envers.AuditOverride;
 import org.hibernate.envers.Audited;
 
@@ -15,9 +17,28 @@ import javax.persistence.*;
 @AllArgsConstructor
 @Audited
 @AuditOverride(forClass = BaseEntity.class)
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_product_item_product_id_name", columnNames = {"product_id", "name"}),
+        indexes = {
+                // 상품별 아이템 개수 / 가격 범위 집계용
+                @Index(name = "idx_product_item_product_id_price", columnList = "product_id, price"),
+                // 판매자 집계 재계산용
+                @Index(name = "idx_product_item_seller_id", columnList = "seller_id")
+        })
 public class ProductItem extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_item_id_generator")
+    @GenericGenerator(
+            name = "product_item_id_generator",
+            strategy = IdSequence.GENERATOR,
+            parameters = {
+                    @Parameter(name = "table_name", value = IdSequence.TABLE),
+                    @Parameter(name = "segment_column_name", value = IdSequence.SEGMENT_COLUMN),
+                    @Parameter(name = "value_column_name", value = IdSequence.VALUE_COLUMN),
+                    @Parameter(name = "segment_value", value = IdSequence.PRODUCT_ITEM),
+                    @Parameter(name = "increment_size", value = IdSequence.INCREMENT_SIZE),
+                    @Parameter(name = "optimizer", value = IdSequence.OPTIMIZER)
+            })
     private Long id;
 
     private Long sellerId;
@@ -30,7 +51,7 @@ public class ProductItem extends BaseEntity {
 
     private Integer count;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
 
@@ -0,0 +1,53 @@
+package com.zerobase.cms.order.domain.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 상품 한 건의 아이템을 id / 이름으로 찾기 위한 조회용 색인.
+ * Product 를 읽은 뒤 처음 사용할 때 한 번 만들고, Product.addProductItem / rename 으로만 갱신한다.
+ */
+public class ProductItemIndex {
+    private final Map<Long, ProductItem> byId;
+    private final Map<String, ProductItem> byName;
+
+    ProductItemIndex(List<ProductItem> items) {
+        byId = new HashMap<>(items.size() * 2);
+        byName = new HashMap<>(items.size() * 2);
+        items.forEach(this::add);
+    }
+
+    public Optional<ProductItem> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public boolean containsName(String name) {
+        return byName.containsKey(name);
+    }
+
+    /**
+     * 이름을 바꾸면서 색인도 함께 옮긴다.
+     * 다른 아이템이 이미 쓰는 이름이면 false 를 돌려주고 바꾸지 않는다.
+     */
+    public boolean rename(ProductItem item, String name) {
+        if (item.getName() != null && item.getName().equals(name)) {
+            return true;
+        }
+        if (byName.containsKey(name)) {
+            return false;
+        }
+        byName.remove(item.getName());
+        item.setName(name);
+        byName.put(name, item);
+        return true;
+    }
+
+    void add(ProductItem item) {
+        if (item.getId() != null) {
+            byId.put(item.getId(), item);
+        }
+        byName.put(item.getName(), item);
+    }
+}
@@ -0,0 +1,21 @@
+package com.zerobase.cms.order.domain.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 복제 지연 측정용 한 행 테이블. ReplicaLagMonitor 가 primary 에 쓰고 replica 에서 읽는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class ReplicaHeartbeat {
+    @Id
+    private Long id;
+
+    // epoch millis
+    private long beatAt;
+}
@@ -0,0 +1,41 @@
+package com.zerobase.cms.order.domain.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 판매자별 집계(상품/옵션 수, 재고, 재고 금액, 품절 임박 옵션 수).
+ * 상품 쓰기와 같은 트랜잭션에서 증감분(SellerStatsChangedEvent)으로 갱신하고,
+ * SellerStatsService 가 주기적으로 product_item 에서 다시 계산해 어긋난 값을 고친다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerStats {
+    @Id
+    private Long sellerId;
+
+    @Column(nullable = false)
+    private long productCount;
+
+    @Column(nullable = false)
+    private long skuCount;
+
+    @Column(nullable = false)
+    private long totalStock;
+
+    // sum(price * count)
+    @Column(nullable = false)
+    private long stockValue;
+
+    // count <= seller-stats.low-stock-threshold 인 옵션 수
+    @Column(nullable = false)
+    private long lowStockCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
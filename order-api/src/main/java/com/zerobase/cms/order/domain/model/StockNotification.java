@@ -0,0 +1,41 @@
+package com.zerobase.cms.order.domain.model;
+
+import com.zerobase.cms.order.domain.product.StockNotificationType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 보내야 할 재고 알림(outbox). 상품 수정 트랜잭션과 함께 커밋되고,
+ * StockNotificationService 가 구독자에게 나눠 보내며 last_customer_id 에 진행 위치를 남긴다.
+ * 다 보내면 지운다.
+ * 발송하는 쪽은 claimed_by / claimed_until 로 행을 점유하고, 점유가 끝난 행만 다른 인스턴스가 가져간다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_stock_notification_product_item_id", columnList = "product_item_id"))
+public class StockNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockNotificationType type;
+
+    @Column(nullable = false)
+    private long lastCustomerId;
+
+    private LocalDateTime createdAt;
+
+    @Column(length = 36)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+}
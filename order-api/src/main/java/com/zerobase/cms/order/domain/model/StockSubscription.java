@@ -0,0 +1,33 @@
+package com.zerobase.cms.order.domain.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 고객이 옵션의 재입고/품절 임박 알림을 받겠다고 등록한 것.
+ * 알림 발송은 (product_item_id, customer_id) unique index 를 따라 customer_id 순 keyset 으로 읽는다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_stock_subscription_product_item_id_customer_id",
+        columnNames = {"product_item_id", "customer_id"}))
+public class StockSubscription {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productItemId;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.zerobase.cms.order.domain.price;
+
+import com.zerobase.cms.order.domain.model.PriceHistory;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangeDto {
+    private Long itemId;
+    private Integer previousPrice;
+    private Integer price;
+    private LocalDateTime changedAt;
+
+    public static PriceChangeDto from(PriceHistory history) {
+        return PriceChangeDto.builder()
+                .itemId(history.getProductItemId())
+                .previousPrice(history.getPreviousPrice())
+                .price(history.getPrice())
+                .changedAt(history.getValidFrom())
+                .build();
+    }
+}
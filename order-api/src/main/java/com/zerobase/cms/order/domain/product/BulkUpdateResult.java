@@ -0,0 +1,18 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+    private int updated;
+    // 존재하지 않거나 다른 셀러의 아이템, 값이 올바르지 않은 요청
+    private List<Long> rejectedIds;
+}
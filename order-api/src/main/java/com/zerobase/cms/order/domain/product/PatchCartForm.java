@@ -0,0 +1,37 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 장바구니 줄 단위 변경. (PATCH /customer/cart)
+ * 요청에 들어 있는 줄만 확인하고 바꾼다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchCartForm {
+    private List<Operation> operations;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        private Type op;
+        private Long productId;
+        private Long itemId;
+        // SET_COUNT 일 때만 사용
+        private Integer count;
+    }
+
+    public enum Type {
+        SET_COUNT,
+        REMOVE
+    }
+}
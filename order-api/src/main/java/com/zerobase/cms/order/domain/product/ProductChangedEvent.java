@@ -0,0 +1,15 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * 상품/옵션이 추가, 수정, 삭제되었음을 알리는 이벤트. 커밋 이후에 처리된다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private final Collection<Long> productIds;
+}
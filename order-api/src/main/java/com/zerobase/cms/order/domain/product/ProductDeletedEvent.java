@@ -0,0 +1,13 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 행이 실제로 지워졌음을 알리는 이벤트. (ProductReaper) 커밋 이후 장바구니 정리에 사용된다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductDeletedEvent {
+    private final Long productId;
+}
@@ -0,0 +1,31 @@
+package com.zerobase.cms.order.domain.product;
+
+import com.zerobase.cms.order.exception.CustomException;
+
+import java.util.Locale;
+
+import static com.zerobase.cms.order.exception.ErrorCode.UNSUPPORTED_IMPORT_FORMAT;
+
+public enum ProductImportFormat {
+    CSV, NDJSON;
+
+    /**
+     * 파일 확장자 -> Content-Type 순서로 형식을 판단한다.
+     */
+    public static ProductImportFormat from(String fileName, String contentType) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        } else if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        } else if (type.startsWith("application/x-ndjson")) {
+            return NDJSON;
+        }
+        throw new CustomException(UNSUPPORTED_IMPORT_FORMAT);
+    }
+}
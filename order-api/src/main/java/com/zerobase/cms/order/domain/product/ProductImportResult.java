@@ -0,0 +1,48 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@ToString
+public class ProductImportResult {
+    // 응답 크기가 파일 크기에 비례하지 않도록 상세 오류는 앞에서부터 일부만 담는다.
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private int totalRows;
+    private int importedProducts;
+    private int importedItems;
+    private int failedRows;
+    private boolean errorsTruncated;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void countRow() {
+        totalRows++;
+    }
+
+    public void addImported(int products, int items) {
+        importedProducts += products;
+        importedItems += items;
+    }
+
+    public void addError(int row, String message) {
+        failedRows++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 등록 파일의 한 줄 = 상품 옵션 하나.
+ * 같은 productName 이 연속된 줄은 하나의 상품으로 묶인다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRow {
+    private String productName;
+    private String description;
+    private String itemName;
+    private Integer price;
+    private Integer count;
+}
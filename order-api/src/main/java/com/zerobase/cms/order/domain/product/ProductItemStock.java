@@ -0,0 +1,15 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 옵션의 현재 가격/수량. (엔티티를 읽지 않는 일괄 수정용 projection)
+ */
+@Getter
+@AllArgsConstructor
+public class ProductItemStock {
+    private final Long id;
+    private final Integer price;
+    private final Integer count;
+}
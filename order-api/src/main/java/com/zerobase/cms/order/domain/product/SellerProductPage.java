@@ -0,0 +1,18 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * nextCursor 를 다음 요청의 cursor 로 넘긴다. 마지막 페이지면 null.
+ */
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerProductPage {
+    private List<SellerProductSummary> products;
+    private Long nextCursor;
+}
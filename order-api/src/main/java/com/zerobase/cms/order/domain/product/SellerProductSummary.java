@@ -0,0 +1,19 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.*;
+
+/**
+ * 판매자 상품 목록의 한 줄. 아이템은 개수와 가격 범위만 담는다.
+ */
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerProductSummary {
+    private Long id;
+    private String name;
+    private long itemCount;
+    private Integer minPrice;
+    private Integer maxPrice;
+}
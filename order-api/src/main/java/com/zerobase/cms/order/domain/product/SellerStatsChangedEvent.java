@@ -0,0 +1,60 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 판매자 집계에 반영할 상품/옵션 변경. 옵션은 바뀌기 전/후의 가격과 수량을 담는다.
+ * (추가는 전 값이, 삭제는 후 값이 null) 커밋 직전에 같은 트랜잭션에서 처리된다.
+ */
+@Getter
+public class SellerStatsChangedEvent {
+    private final Long sellerId;
+    private int productDelta;
+    private final List<ItemChange> items = new ArrayList<>();
+
+    public SellerStatsChangedEvent(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public SellerStatsChangedEvent productAdded() {
+        productDelta++;
+        return this;
+    }
+
+    public SellerStatsChangedEvent productRemoved() {
+        productDelta--;
+        return this;
+    }
+
+    public SellerStatsChangedEvent itemAdded(Integer price, Integer count) {
+        items.add(new ItemChange(null, null, price, count));
+        return this;
+    }
+
+    public SellerStatsChangedEvent itemRemoved(Integer price, Integer count) {
+        items.add(new ItemChange(price, count, null, null));
+        return this;
+    }
+
+    public SellerStatsChangedEvent itemChanged(Integer oldPrice, Integer oldCount, Integer newPrice, Integer newCount) {
+        items.add(new ItemChange(oldPrice, oldCount, newPrice, newCount));
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return productDelta == 0 && items.isEmpty();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ItemChange {
+        private final Integer oldPrice;
+        private final Integer oldCount;
+        private final Integer newPrice;
+        private final Integer newCount;
+    }
+}
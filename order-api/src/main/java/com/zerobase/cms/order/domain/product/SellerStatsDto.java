@@ -0,0 +1,40 @@
+package com.zerobase.cms.order.domain.product;
+
+import com.zerobase.cms.order.domain.model.SellerStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerStatsDto {
+    private Long sellerId;
+    private long productCount;
+    private long skuCount;
+    private long totalStock;
+    private long stockValue;
+    private long lowStockCount;
+    private LocalDateTime updatedAt;
+
+    public static SellerStatsDto from(SellerStats stats) {
+        return SellerStatsDto.builder()
+                .sellerId(stats.getSellerId())
+                .productCount(stats.getProductCount())
+                .skuCount(stats.getSkuCount())
+                .totalStock(stats.getTotalStock())
+                .stockValue(stats.getStockValue())
+                .lowStockCount(stats.getLowStockCount())
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+
+    // 아직 상품을 등록하지 않은 판매자
+    public static SellerStatsDto empty(Long sellerId) {
+        return SellerStatsDto.builder().sellerId(sellerId).build();
+    }
+}
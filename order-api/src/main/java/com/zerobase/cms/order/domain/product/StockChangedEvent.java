@@ -0,0 +1,39 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 옵션 수량 변경. 커밋 직전에 재입고/품절 임박 알림 대상을 골라 outbox 에 남긴다.
+ */
+@Getter
+public class StockChangedEvent {
+    private final List<Change> changes = new ArrayList<>();
+
+    /**
+     * 수량이 그대로인 옵션은 담지 않는다.
+     */
+    public StockChangedEvent add(Long productItemId, Integer oldCount, Integer newCount) {
+        int before = oldCount == null ? 0 : oldCount;
+        int after = newCount == null ? 0 : newCount;
+        if (before != after) {
+            changes.add(new Change(productItemId, before, after));
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Change {
+        private final Long productItemId;
+        private final int oldCount;
+        private final int newCount;
+    }
+}
@@ -0,0 +1,21 @@
+package com.zerobase.cms.order.domain.product;
+
+public enum StockNotificationType {
+    // 품절(0)이던 옵션이 다시 들어옴. 알림을 보낸 구독은 지운다.
+    BACK_IN_STOCK,
+    // 수량이 임계값 이하로 내려감. 구독은 유지한다.
+    LOW_STOCK;
+
+    /**
+     * 수량 변화가 알림 대상이면 종류를, 아니면 null 을 돌려준다.
+     */
+    public static StockNotificationType of(int oldCount, int newCount, int lowStockThreshold) {
+        if (oldCount <= 0 && newCount > 0) {
+            return BACK_IN_STOCK;
+        }
+        if (oldCount > lowStockThreshold && newCount > 0 && newCount <= lowStockThreshold) {
+            return LOW_STOCK;
+        }
+        return null;
+    }
+}
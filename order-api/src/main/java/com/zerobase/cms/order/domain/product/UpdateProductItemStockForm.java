@@ -0,0 +1,19 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고/가격 일괄 수정 한 건. null 인 값은 변경하지 않는다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateProductItemStockForm {
+    private Long id;
+    private Integer price;
+    private Integer count;
+}
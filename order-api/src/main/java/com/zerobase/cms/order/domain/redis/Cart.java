@@ -1,12 +1,15 @@
 package com.zerobase.cms.order.domain.redis;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import lombok.*;
 import org.springframework.data.redis.core.RedisHash;
 
 import javax.persistence.Id;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Data
@@ -16,7 +19,17 @@ public class Cart {
     @Id
     private Long customerId;
     private List<Product> products = new ArrayList<>();
+    // 아직 고객에게 보여주지 않은 변경 (응답할 때 messages 로 만든다)
+    private List<CartChange> changes = new ArrayList<>();
+    // 응답 전용. changes 를 요청 locale 로 만든 문장 (비어 있으면 JSON 에 쓰지 않는다)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private List<String> messages = new ArrayList<>();
+    // 상품 id -> 마지막으로 확인한 상품 버전 (버전이 같으면 refresh 에서 건너뜀)
+    private Map<Long, Long> productVersions = new HashMap<>();
+    // 모든 상품을 마지막으로 다시 확인한 시각 (epoch ms)
+    private long validatedAt;
+    // 판매자 소계 / 합계 (null 이면 다음 조회 때 전체 계산)
+    private CartTotals totals;
 
     public Cart(Long customerId) {
         this.customerId = customerId;
@@ -26,6 +39,24 @@ public class Cart {
         messages.add(message);
     }
 
+    public void addChange(CartChange change) {
+        changes.add(change);
+    }
+
+    /**
+     * 상품 / 옵션 / 메시지 목록까지 복사한다. (로컬 캐시 값을 그대로 고치지 않도록)
+     */
+    public Cart copy() {
+        Cart cart = new Cart(customerId);
+        cart.setProducts(products.stream().map(Product::copy).collect(Collectors.toList()));
+        cart.setChanges(new ArrayList<>(changes));
+        cart.setMessages(new ArrayList<>(messages));
+        cart.setProductVersions(new HashMap<>(productVersions));
+        cart.setValidatedAt(validatedAt);
+        cart.setTotals(totals == null ? null : totals.copy());
+        return cart;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -47,6 +78,16 @@ public class Cart {
                             .collect(Collectors.toList()))
                     .build();
         }
+
+        public Product copy() {
+            return Product.builder()
+                    .id(id)
+                    .sellerId(sellerId)
+                    .name(name)
+                    .description(description)
+                    .items(items.stream().map(ProductItem::copy).collect(Collectors.toList()))
+                    .build();
+        }
     }
 
     @Data
@@ -58,6 +99,9 @@ public class Cart {
         private String name;
         private Integer count;
         private Integer price;
+        // 마지막으로 합계에 반영한 금액 / 수량 (CartPricingEngine)
+        private Long lineTotal;
+        private Integer lineCount;
 
         public static ProductItem from(AddProductCartForm.ProductItem form) {
             return ProductItem.builder()
@@ -67,5 +111,9 @@ public class Cart {
                     .price(form.getPrice())
                     .build();
         }
+
+        public ProductItem copy() {
+            return new ProductItem(id, name, count, price, lineTotal, lineCount);
+        }
     }
 }
@@ -0,0 +1,72 @@
+package com.zerobase.cms.order.domain.redis;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 장바구니 변경 알림. 문장 대신 종류와 값만 저장하고, 문장은 응답할 때 locale 에 맞게 만든다.
+ * (CartMessageRenderer, messages*.properties 의 cart.change.{type})
+ * Redis 에 장바구니와 함께 저장되므로 JSON 필드 이름을 짧게 쓰고 null 은 남기지 않는다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CartChange {
+    @JsonProperty("t")
+    private Type type;
+    @JsonProperty("p")
+    private Long productId;
+    @JsonProperty("i")
+    private Long itemId;
+    @JsonProperty("pn")
+    private String productName;
+    @JsonProperty("in")
+    private String itemName;
+    // 가격 / 수량의 이전 값과 바뀐 값
+    @JsonProperty("o")
+    private Integer oldValue;
+    @JsonProperty("n")
+    private Integer newValue;
+
+    public enum Type {
+        PRODUCT_REMOVED,
+        // 옵션이 모두 없어져 상품을 뺀 경우
+        PRODUCT_UNAVAILABLE,
+        PRODUCT_INFO_CHANGED,
+        ITEM_REMOVED,
+        ITEM_PRICE_CHANGED,
+        ITEM_COUNT_CAPPED
+    }
+
+    public static CartChange product(Type type, Cart.Product product) {
+        return CartChange.builder()
+                .type(type)
+                .productId(product.getId())
+                .productName(product.getName())
+                .build();
+    }
+
+    public static CartChange item(Type type, Cart.Product product, Cart.ProductItem item) {
+        return item(type, product, item, null, null);
+    }
+
+    public static CartChange item(
+            Type type, Cart.Product product, Cart.ProductItem item, Integer oldValue, Integer newValue
+    ) {
+        return CartChange.builder()
+                .type(type)
+                .productId(product.getId())
+                .itemId(item.getId())
+                .productName(product.getName())
+                .itemName(item.getName())
+                .oldValue(oldValue)
+                .newValue(newValue)
+                .build();
+    }
+}
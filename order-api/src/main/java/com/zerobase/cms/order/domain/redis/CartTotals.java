@@ -0,0 +1,26 @@
+package com.zerobase.cms.order.domain.redis;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 장바구니 합계. 옵션별 금액(Cart.ProductItem.lineTotal)과 함께 장바구니에 저장되고
+ * 줄이 바뀔 때 차이만큼만 고친다. (CartPricingEngine)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartTotals {
+    // 판매자 id -> 소계
+    private Map<Long, Long> sellerSubtotals = new HashMap<>();
+    private long totalPrice;
+    private int totalCount;
+
+    public CartTotals copy() {
+        return new CartTotals(new HashMap<>(sellerSubtotals), totalPrice, totalCount);
+    }
+}
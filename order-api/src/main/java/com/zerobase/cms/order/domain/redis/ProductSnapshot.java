@@ -0,0 +1,57 @@
+package com.zerobase.cms.order.domain.redis;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 장바구니 검증용 상품 스냅샷. Redis(product:snapshot:{id}) 에 JSON 으로 캐시된다.
+ * version 은 DB 에서 읽기 전에 본 product:version 값이며, 현재 버전과 다르면 캐시 값을 쓰지 않는다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSnapshot {
+    private Long id;
+    private Long sellerId;
+    private String name;
+    private String description;
+    private List<Item> items = new ArrayList<>();
+    private Long version;
+
+    public static ProductSnapshot from(Product product) {
+        return ProductSnapshot.builder()
+                .id(product.getId())
+                .sellerId(product.getSellerId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .items(product.getProductItems().stream()
+                        .map(Item::from).collect(Collectors.toList()))
+                .build();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private String name;
+        private Integer price;
+        private Integer count;
+
+        public static Item from(ProductItem item) {
+            return Item.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .price(item.getPrice())
+                    .count(item.getCount())
+                    .build();
+        }
+    }
+}
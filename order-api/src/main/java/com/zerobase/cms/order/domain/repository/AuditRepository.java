@@ -0,0 +1,175 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
+import com.zerobase.cms.order.domain.audit.AuditRecord;
+import com.zerobase.cms.order.domain.model.IdSequence;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.envers.RevisionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.zerobase.cms.order.domain.audit.AuditRecord.AuditTarget.PRODUCT;
+
+/**
+ * Envers 가 만든 revision / _aud 테이블과 outbox 테이블에 JDBC batch 로 기록한다.
+ * 컬럼 구성은 Envers 기본 매핑(DEL 은 id 외 데이터 미저장)과 동일하게 맞춘다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditRepository {
+    private static final String INSERT_REVISION =
+            "insert into audit_revision (id, revision_timestamp, price_indexed) values (?, ?, false)";
+    private static final String INSERT_PRODUCT_AUD =
+            "insert into product_aud (id, rev, revtype, created_at, modified_at, seller_id, name, description) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_ITEM_AUD =
+            "insert into product_item_aud (id, rev, revtype, created_at, modified_at, seller_id, name, price, count, product_id) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_PRODUCT_ITEM =
+            "select id, seller_id, product_id, name, price, count, created_at, modified_at "
+                    + "from product_item where id in (:ids)";
+
+    private static final String INSERT_OUTBOX =
+            "insert into audit_outbox (payload, created_at, attempts, dead_letter) values (?, ?, 0, false)";
+    // 행을 잠가 읽으므로 여러 인스턴스의 relay 가 같은 행을 두 번 옮기지 않는다.
+    // (뒤에 온 relay 는 앞 relay 가 커밋할 때까지 기다렸다가 남은 행을 읽는다)
+    private static final String SELECT_OUTBOX =
+            "select id, payload from audit_outbox where dead_letter = false order by id limit ? for update";
+    private static final String SELECT_OUTBOX_ROW =
+            "select id, payload from audit_outbox where id = ? and dead_letter = false for update";
+    private static final String DELETE_OUTBOX = "delete from audit_outbox where id in (:ids)";
+    // dead_letter 를 먼저 계산한다. (MySQL 은 앞 SET 에서 바뀐 attempts 를 뒤 SET 에서 읽는다)
+    private static final String FAIL_OUTBOX =
+            "update audit_outbox set dead_letter = (attempts + 1 >= ?), attempts = attempts + 1, last_error = ? "
+                    + "where id = ?";
+    private static final int ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+
+    /**
+     * change set 하나당 revision 하나를 예약하고 revision / _aud 행을 batch insert 한다.
+     */
+    public void write(List<AuditChangeSet> changeSets) {
+        if (changeSets.isEmpty()) {
+            return;
+        }
+        long rev = idBlockAllocator.allocate(IdSequence.AUDIT_REVISION, changeSets.size());
+
+        List<Object[]> revisionArgs = new ArrayList<>(changeSets.size());
+        List<Object[]> productArgs = new ArrayList<>();
+        List<Object[]> itemArgs = new ArrayList<>();
+        for (AuditChangeSet changeSet : changeSets) {
+            revisionArgs.add(new Object[]{rev, changeSet.getTimestamp()});
+            for (AuditRecord record : changeSet.getRecords()) {
+                if (record.getTarget() == PRODUCT) {
+                    productArgs.add(productRow(rev, record));
+                } else {
+                    itemArgs.add(itemRow(rev, record));
+                }
+            }
+            rev++;
+        }
+        jdbcTemplate.batchUpdate(INSERT_REVISION, revisionArgs);
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_AUD, productArgs);
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_ITEM_AUD, itemArgs);
+    }
+
+    /**
+     * JDBC 로 수정한 아이템의 현재 행을 읽어 audit 스냅샷으로 만든다. (엔티티 로딩 없이)
+     */
+    public List<AuditRecord> findItemRecords(Collection<Long> ids, RevisionType revisionType) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query(SELECT_PRODUCT_ITEM, new MapSqlParameterSource("ids", ids),
+                (rs, rowNum) -> AuditRecord.builder()
+                        .target(AuditRecord.AuditTarget.PRODUCT_ITEM)
+                        .id(rs.getLong("id"))
+                        .revisionType(revisionType)
+                        .sellerId(rs.getLong("seller_id"))
+                        .productId(rs.getObject("product_id", Long.class))
+                        .name(rs.getString("name"))
+                        .price(rs.getObject("price", Integer.class))
+                        .count(rs.getObject("count", Integer.class))
+                        .createdAt(localDateTime(rs.getTimestamp("created_at")))
+                        .modifiedAt(localDateTime(rs.getTimestamp("modified_at")))
+                        .build());
+    }
+
+    public void insertOutbox(String payload) {
+        jdbcTemplate.update(INSERT_OUTBOX, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public List<OutboxRow> findOutbox(int limit) {
+        return jdbcTemplate.query(SELECT_OUTBOX,
+                (rs, rowNum) -> new OutboxRow(rs.getLong("id"), rs.getString("payload")), limit);
+    }
+
+    public Optional<OutboxRow> findOutboxRow(long id) {
+        return jdbcTemplate.query(SELECT_OUTBOX_ROW,
+                (rs, rowNum) -> new OutboxRow(rs.getLong("id"), rs.getString("payload")), id)
+                .stream().findFirst();
+    }
+
+    /**
+     * relay 실패를 기록한다. 실패 횟수가 maxAttempts 에 닿으면 dead letter 로 돌린다.
+     */
+    public void failOutbox(long id, int maxAttempts, String error) {
+        String lastError = error != null && error.length() > ERROR_LENGTH ? error.substring(0, ERROR_LENGTH) : error;
+        jdbcTemplate.update(FAIL_OUTBOX, maxAttempts, lastError, id);
+    }
+
+    public void deleteOutbox(Collection<Long> ids) {
+        namedParameterJdbcTemplate.update(DELETE_OUTBOX, new MapSqlParameterSource("ids", ids));
+    }
+
+    private static Object[] productRow(long rev, AuditRecord record) {
+        if (record.getRevisionType() == RevisionType.DEL) {
+            return new Object[]{record.getId(), rev, RevisionType.DEL.getRepresentation(),
+                    null, null, null, null, null};
+        }
+        return new Object[]{record.getId(), rev, record.getRevisionType().getRepresentation(),
+                timestamp(record.getCreatedAt()), timestamp(record.getModifiedAt()),
+                record.getSellerId(), record.getName(), record.getDescription()};
+    }
+
+    private static Object[] itemRow(long rev, AuditRecord record) {
+        if (record.getRevisionType() == RevisionType.DEL) {
+            return new Object[]{record.getId(), rev, RevisionType.DEL.getRepresentation(),
+                    null, null, null, null, null, null, null};
+        }
+        return new Object[]{record.getId(), rev, record.getRevisionType().getRepresentation(),
+                timestamp(record.getCreatedAt()), timestamp(record.getModifiedAt()),
+                record.getSellerId(), record.getName(), record.getPrice(), record.getCount(),
+                record.getProductId()};
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+
+    private static LocalDateTime localDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class OutboxRow {
+        private long id;
+        private String payload;
+    }
+}
@@ -0,0 +1,7 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.CartArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CartArchiveRepository extends JpaRepository<CartArchive, Long> {
+}
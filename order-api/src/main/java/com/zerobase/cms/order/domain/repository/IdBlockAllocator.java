@@ -0,0 +1,53 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.IdSequence;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hibernate TableGenerator(pooled-lo) 와 같은 규칙으로 id 블록을 예약한다.
+ * next_val 을 읽어 size 만큼 올리고, [next_val, next_val + size) 를 호출자가 사용한다.
+ * Hibernate 와 마찬가지로 별도 트랜잭션에서 실행해 행 잠금을 짧게 유지한다.
+ */
+@Repository
+public class IdBlockAllocator {
+    private static final String SELECT_FOR_UPDATE = "select " + IdSequence.VALUE_COLUMN
+            + " from " + IdSequence.TABLE + " where " + IdSequence.SEGMENT_COLUMN + " = ? for update";
+    private static final String INSERT = "insert into " + IdSequence.TABLE
+            + " (" + IdSequence.SEGMENT_COLUMN + ", " + IdSequence.VALUE_COLUMN + ") values (?, ?)";
+    private static final String UPDATE = "update " + IdSequence.TABLE
+            + " set " + IdSequence.VALUE_COLUMN + " = ? where " + IdSequence.SEGMENT_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @return 예약된 블록의 첫 번째 id
+     */
+    public long allocate(String segment, int size) {
+        Long first = requiresNew.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(SELECT_FOR_UPDATE, Long.class, segment);
+            long next;
+            if (current.isEmpty()) {
+                next = IdSequence.INITIAL_VALUE;
+                jdbcTemplate.update(INSERT, segment, next + size);
+            } else {
+                next = current.get(0);
+                jdbcTemplate.update(UPDATE, next + size, segment);
+            }
+            return next;
+        });
+        return first;
+    }
+}
@@ -0,0 +1,111 @@
+package com.zerobase.cms.order.domain.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * price_history 색인 작업용 JDBC 접근.
+ * 조회 API 는 PriceHistoryRepository 를 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceHistoryBulkRepository {
+    private static final String SELECT_PENDING_REVS =
+            "select id from audit_revision where price_indexed = false order by id limit ?";
+    private static final String SELECT_ITEM_IDS = "select distinct id from product_item_aud where rev in (:revs)";
+    private static final String SELECT_ITEM_REVISIONS =
+            "select a.id, a.rev, a.revtype, a.price, r.revision_timestamp from product_item_aud a "
+                    + "join audit_revision r on r.id = a.rev "
+                    + "where a.id in (:ids) order by a.id, r.revision_timestamp, a.rev";
+    private static final String DELETE_BY_ITEM_IDS = "delete from price_history where product_item_id in (:ids)";
+    private static final String INSERT =
+            "insert into price_history (product_item_id, price, previous_price, valid_from, valid_to, rev) "
+                    + "values (?, ?, ?, ?, ?, ?)";
+    private static final String MARK_INDEXED = "update audit_revision set price_indexed = true where id in (:revs)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 아직 색인하지 않은 revision 번호. 커밋된 revision 만 보이므로 늦게 커밋된 revision 도 빠지지 않는다.
+     */
+    public List<Long> findPendingRevs(int limit) {
+        return jdbcTemplate.queryForList(SELECT_PENDING_REVS, Long.class, limit);
+    }
+
+    public List<Long> findItemIds(Collection<Long> revs) {
+        return namedParameterJdbcTemplate.queryForList(SELECT_ITEM_IDS,
+                new MapSqlParameterSource("revs", revs), Long.class);
+    }
+
+    /**
+     * 아이템별로 revision 시간, 번호 순으로 정렬한 전체 이력.
+     */
+    public List<ItemRevision> findItemRevisions(Collection<Long> itemIds) {
+        return namedParameterJdbcTemplate.query(SELECT_ITEM_REVISIONS, new MapSqlParameterSource("ids", itemIds),
+                (rs, rowNum) -> new ItemRevision(
+                        rs.getLong("id"),
+                        rs.getLong("rev"),
+                        rs.getInt("revtype"),
+                        rs.getObject("price", Integer.class),
+                        rs.getLong("revision_timestamp")
+                ));
+    }
+
+    public void deleteByItemIds(Collection<Long> itemIds) {
+        namedParameterJdbcTemplate.update(DELETE_BY_ITEM_IDS, new MapSqlParameterSource("ids", itemIds));
+    }
+
+    public void insertAll(List<NewRange> ranges) {
+        jdbcTemplate.batchUpdate(INSERT, ranges.stream()
+                .map(range -> new Object[]{
+                        range.getProductItemId(), range.getPrice(), range.getPreviousPrice(),
+                        timestamp(range.getValidFrom()), timestamp(range.getValidTo()), range.getRev()
+                })
+                .collect(Collectors.toList()));
+    }
+
+    public void markIndexed(Collection<Long> revs) {
+        namedParameterJdbcTemplate.update(MARK_INDEXED, new MapSqlParameterSource("revs", revs));
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ItemRevision {
+        private long itemId;
+        private long rev;
+        private int revisionType;
+        private Integer price;
+        private long timestamp;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class NewRange {
+        private long productItemId;
+        private Integer price;
+        private Integer previousPrice;
+        private LocalDateTime validFrom;
+        private LocalDateTime validTo;
+        private long rev;
+
+        public void close(LocalDateTime validTo) {
+            this.validTo = validTo;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.PriceHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceHistoryRepository extends JpaRepository<PriceHistory, Long> {
+
+    Optional<PriceHistory> findFirstByProductItemIdAndValidFromLessThanEqualOrderByValidFromDesc(
+            Long productItemId, LocalDateTime time);
+
+    List<PriceHistory> findAllByProductItemIdInAndValidFromAfterAndPreviousPriceNotNullOrderByProductItemIdAscValidFromAsc(
+            Collection<Long> productItemIds, LocalDateTime since);
+}
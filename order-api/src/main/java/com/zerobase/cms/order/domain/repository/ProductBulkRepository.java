@@ -0,0 +1,119 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.IdSequence;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.UpdateProductItemStockForm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA 를 거치지 않고 상품/옵션을 JDBC batch 로 저장한다.
+ * 대량 등록처럼 영속성 컨텍스트가 필요 없는 쓰기 경로 전용.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductBulkRepository {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_PRODUCT =
+            "insert into product (id, seller_id, name, description, created_at, modified_at) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_ITEM =
+            "insert into product_item (id, seller_id, product_id, name, price, count, created_at, modified_at) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PRODUCT_ITEM_STOCK =
+            "update product_item set price = coalesce(?, price), count = coalesce(?, count), modified_at = ? "
+                    + "where id = ? and seller_id = ?";
+    private static final String SELECT_DELETED_PRODUCT_IDS =
+            "select id from product where deleted_at is not null and deleted_at < ? order by deleted_at limit ?";
+    private static final String SELECT_ITEM_IDS_BY_PRODUCT =
+            "select id from product_item where product_id in (:productIds)";
+    private static final String DELETE_ITEMS_BY_PRODUCT = "delete from product_item where product_id in (:productIds)";
+    private static final String DELETE_PRODUCTS = "delete from product where id in (:productIds)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+
+    /**
+     * 상품/옵션 id 를 블록 단위로 예약해 채운 뒤 batch insert 한다.
+     */
+    public void insertAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int itemCount = products.stream().mapToInt(product -> product.getProductItems().size()).sum();
+
+        long productId = idBlockAllocator.allocate(IdSequence.PRODUCT, products.size());
+        long itemId = itemCount > 0 ? idBlockAllocator.allocate(IdSequence.PRODUCT_ITEM, itemCount) : 0;
+
+        List<Object[]> productArgs = new ArrayList<>(products.size());
+        List<Object[]> itemArgs = new ArrayList<>(itemCount);
+        for (Product product : products) {
+            product.setId(productId++);
+            productArgs.add(new Object[]{
+                    product.getId(), product.getSellerId(), product.getName(),
+                    product.getDescription(), now, now
+            });
+            for (ProductItem item : product.getProductItems()) {
+                item.setId(itemId++);
+                itemArgs.add(new Object[]{
+                        item.getId(), item.getSellerId(), product.getId(), item.getName(),
+                        item.getPrice(), item.getCount(), now, now
+                });
+            }
+        }
+        batchUpdate(INSERT_PRODUCT, productArgs);
+        batchUpdate(INSERT_PRODUCT_ITEM, itemArgs);
+    }
+
+    /**
+     * 엔티티를 읽지 않고 가격/수량만 batch update 한다. (소유 확인은 호출하는 쪽에서 끝낸 상태)
+     */
+    public void updateItemStocks(Long sellerId, List<UpdateProductItemStockForm> forms) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(forms.size());
+        for (UpdateProductItemStockForm form : forms) {
+            args.add(new Object[]{form.getPrice(), form.getCount(), now, form.getId(), sellerId});
+        }
+        batchUpdate(UPDATE_PRODUCT_ITEM_STOCK, args);
+    }
+
+    /**
+     * deletedBefore 이전에 삭제 요청된 상품 id. (오래된 것부터)
+     */
+    public List<Long> findDeletedProductIds(LocalDateTime deletedBefore, int limit) {
+        return jdbcTemplate.queryForList(SELECT_DELETED_PRODUCT_IDS, Long.class,
+                Timestamp.valueOf(deletedBefore), limit);
+    }
+
+    public List<Long> findItemIdsByProductIds(Collection<Long> productIds) {
+        return namedParameterJdbcTemplate.queryForList(SELECT_ITEM_IDS_BY_PRODUCT,
+                new MapSqlParameterSource("productIds", productIds), Long.class);
+    }
+
+    /**
+     * 옵션과 상품 행을 상품 id 묶음 단위로 지운다. (행마다 delete 하지 않는다)
+     */
+    public void deleteProducts(Collection<Long> productIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("productIds", productIds);
+        namedParameterJdbcTemplate.update(DELETE_ITEMS_BY_PRODUCT, params);
+        namedParameterJdbcTemplate.update(DELETE_PRODUCTS, params);
+    }
+
+    private void batchUpdate(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + BATCH_SIZE, args.size())));
+        }
+    }
+}
@@ -1,7 +1,23 @@
 package com.zerobase.cms.order.domain.repository;
 
 import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.ProductItemStock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ProductItemRepository extends JpaRepository<ProductItem, Long> {
+
+    /**
+     * 판매자 소유 옵션의 현재 가격/수량. (일괄 수정의 소유 확인 겸 집계 증감분 계산용)
+     */
+    @Query("select new com.zerobase.cms.order.domain.product.ProductItemStock(pi.id, pi.price, pi.count) "
+            + "from ProductItem pi where pi.sellerId = :sellerId and pi.id in :ids and pi.product.deletedAt is null")
+    List<ProductItemStock> findStocksBySellerIdAndIdIn(@Param("sellerId") Long sellerId, @Param("ids") Collection<Long> ids);
+
+    @Query("select distinct pi.product.id from ProductItem pi where pi.id in :ids")
+    List<Long> findProductIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
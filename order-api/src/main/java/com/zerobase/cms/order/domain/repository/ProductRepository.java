@@ -3,18 +3,26 @@ package com.zerobase.cms.order.domain.repository;
 import com.zerobase.cms.order.domain.model.Product;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * 조회 메서드는 삭제 요청된(deleted_at 이 있는) 상품을 제외한다.
+ */
 public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
     @EntityGraph(attributePaths = {"productItems"}, type = EntityGraph.EntityGraphType.LOAD)
-    Optional<Product> findBySellerIdAndId(Long sellerId, Long id);
+    @Query("select p from Product p where p.sellerId = :sellerId and p.id = :id and p.deletedAt is null")
+    Optional<Product> findBySellerIdAndId(@Param("sellerId") Long sellerId, @Param("id") Long id);
 
     @EntityGraph(attributePaths = {"productItems"}, type = EntityGraph.EntityGraphType.LOAD)
-    Optional<Product> findWithProductItemsById(Long id);
+    @Query("select p from Product p where p.id = :id and p.deletedAt is null")
+    Optional<Product> findWithProductItemsById(@Param("id") Long id);
 
     @EntityGraph(attributePaths = {"productItems"}, type = EntityGraph.EntityGraphType.LOAD)
-    List<Product> findAllByIdIn(List<Long> ids);
+    @Query("select p from Product p where p.id in :ids and p.deletedAt is null")
+    List<Product> findAllByIdIn(@Param("ids") List<Long> ids);
 }
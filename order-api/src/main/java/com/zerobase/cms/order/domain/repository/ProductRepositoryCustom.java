@@ -1,9 +1,15 @@
 package com.zerobase.cms.order.domain.repository;
 
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.SellerProductSummary;
 
 import java.util.List;
 
 public interface ProductRepositoryCustom {
     List<Product> searchByName(String name);
+
+    /**
+     * 판매자 상품을 id 순으로 cursor(마지막으로 받은 id) 다음부터 limit 개 읽는다.
+     */
+    List<SellerProductSummary> findSellerProducts(Long sellerId, Long cursor, int limit);
 }
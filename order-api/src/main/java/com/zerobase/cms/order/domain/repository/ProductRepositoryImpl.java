@@ -1,12 +1,20 @@
 package com.zerobase.cms.order.domain.repository;
 
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.QProduct;
+import com.zerobase.cms.order.domain.model.QProductItem;
+import com.zerobase.cms.order.domain.product.SellerProductSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -20,7 +28,53 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom{
 
         QProduct product = QProduct.product;
         return queryFactory.selectFrom(product)
-                .where(product.name.like(search))
+                .where(product.name.like(search), product.deletedAt.isNull())
                 .fetch();
     }
+
+    /**
+     * 목록 컬럼(id, name)만 읽어 product(seller_id, id, name, deleted_at) 인덱스만으로 처리되게 하고,
+     * 아이템 개수 / 가격 범위는 페이지의 상품 id 로 집계 쿼리 한 번에 읽는다. (엔티티 로딩 없음)
+     */
+    @Override
+    public List<SellerProductSummary> findSellerProducts(Long sellerId, Long cursor, int limit) {
+        QProduct product = QProduct.product;
+        List<Tuple> rows = queryFactory.select(product.id, product.name)
+                .from(product)
+                .where(product.sellerId.eq(sellerId), product.deletedAt.isNull(),
+                        cursor == null ? null : product.id.gt(cursor))
+                .orderBy(product.id.asc())
+                .limit(limit)
+                .fetch();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        QProductItem productItem = QProductItem.productItem;
+        NumberExpression<Long> itemCount = productItem.count();
+        NumberExpression<Integer> minPrice = productItem.price.min();
+        NumberExpression<Integer> maxPrice = productItem.price.max();
+        List<Long> productIds = rows.stream().map(row -> row.get(product.id)).collect(Collectors.toList());
+        Map<Long, Tuple> itemSummaries = new HashMap<>();
+        queryFactory.select(productItem.product.id, itemCount, minPrice, maxPrice)
+                .from(productItem)
+                .where(productItem.product.id.in(productIds))
+                .groupBy(productItem.product.id)
+                .fetch()
+                .forEach(summary -> itemSummaries.put(summary.get(productItem.product.id), summary));
+
+        List<SellerProductSummary> products = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Long id = row.get(product.id);
+            Tuple summary = itemSummaries.get(id);
+            products.add(SellerProductSummary.builder()
+                    .id(id)
+                    .name(row.get(product.name))
+                    .itemCount(summary == null ? 0 : summary.get(itemCount))
+                    .minPrice(summary == null ? null : summary.get(minPrice))
+                    .maxPrice(summary == null ? null : summary.get(maxPrice))
+                    .build());
+        }
+        return products;
+    }
 }
@@ -0,0 +1,135 @@
+package com.zerobase.cms.order.domain.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * seller_stats 를 JDBC 로 증감/재계산한다. 조회 API 는 SellerStatsRepository 를 사용한다.
+ * 증감은 행을 읽지 않고 update 한 번으로 처리해 동시에 쓰여도 값이 사라지지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SellerStatsBulkRepository {
+    private static final String UPDATE_DELTA =
+            "update seller_stats set product_count = product_count + ?, sku_count = sku_count + ?, "
+                    + "total_stock = total_stock + ?, stock_value = stock_value + ?, "
+                    + "low_stock_count = low_stock_count + ?, updated_at = ? where seller_id = ?";
+    private static final String INSERT =
+            "insert into seller_stats (seller_id, product_count, sku_count, total_stock, stock_value, "
+                    + "low_stock_count, updated_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String OVERWRITE =
+            "update seller_stats set product_count = ?, sku_count = ?, total_stock = ?, stock_value = ?, "
+                    + "low_stock_count = ?, updated_at = ? where seller_id = ?";
+    private static final String SELECT_FOR_UPDATE =
+            "select product_count, sku_count, total_stock, stock_value, low_stock_count "
+                    + "from seller_stats where seller_id = ? for update";
+    private static final String SELECT_SELLER_IDS =
+            "select seller_id from seller_stats union select distinct seller_id from product";
+    // 삭제 요청된 상품은 요청 시점에 집계에서 뺐으므로 다시 세지 않는다.
+    private static final String COUNT_PRODUCTS =
+            "select count(*) from product where seller_id = ? and deleted_at is null";
+    // int * int 가 넘치지 않도록 decimal 로 곱한다.
+    private static final String AGGREGATE_ITEMS =
+            "select count(*), coalesce(sum(pi.count), 0), "
+                    + "coalesce(sum(cast(pi.price as decimal(19, 0)) * pi.count), 0), "
+                    + "coalesce(sum(case when pi.count <= ? then 1 else 0 end), 0) "
+                    + "from product_item pi join product p on p.id = pi.product_id "
+                    + "where pi.seller_id = ? and p.deleted_at is null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void applyDelta(Long sellerId, Counts delta) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (updateDelta(sellerId, delta, now) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT, sellerId, delta.getProductCount(), delta.getSkuCount(),
+                    delta.getTotalStock(), delta.getStockValue(), delta.getLowStockCount(), now);
+        } catch (DuplicateKeyException e) {
+            // 다른 트랜잭션이 먼저 행을 만들었다.
+            updateDelta(sellerId, delta, now);
+        }
+    }
+
+    private int updateDelta(Long sellerId, Counts delta, Timestamp now) {
+        return jdbcTemplate.update(UPDATE_DELTA, delta.getProductCount(), delta.getSkuCount(),
+                delta.getTotalStock(), delta.getStockValue(), delta.getLowStockCount(), now, sellerId);
+    }
+
+    /**
+     * 판매자 행을 잠그고 저장된 값을 돌려준다. 행이 없으면 0 으로 만든다.
+     * 잠근 동안 같은 판매자의 증감은 커밋 직전에서 기다린다.
+     */
+    public Counts lock(Long sellerId) {
+        List<Counts> rows = jdbcTemplate.query(SELECT_FOR_UPDATE, (rs, rowNum) -> new Counts(
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)
+        ), sellerId);
+        if (!rows.isEmpty()) {
+            return rows.get(0);
+        }
+        applyDelta(sellerId, new Counts());
+        return lock(sellerId);
+    }
+
+    public Counts aggregate(Long sellerId, int lowStockThreshold) {
+        long productCount = jdbcTemplate.queryForObject(COUNT_PRODUCTS, Long.class, sellerId);
+        return jdbcTemplate.queryForObject(AGGREGATE_ITEMS, (rs, rowNum) -> new Counts(
+                productCount, rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)
+        ), lowStockThreshold, sellerId);
+    }
+
+    public void overwrite(Long sellerId, Counts counts) {
+        jdbcTemplate.update(OVERWRITE, counts.getProductCount(), counts.getSkuCount(), counts.getTotalStock(),
+                counts.getStockValue(), counts.getLowStockCount(), Timestamp.valueOf(LocalDateTime.now()), sellerId);
+    }
+
+    public List<Long> findSellerIds() {
+        return jdbcTemplate.queryForList(SELECT_SELLER_IDS, Long.class);
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Counts {
+        private long productCount;
+        private long skuCount;
+        private long totalStock;
+        private long stockValue;
+        private long lowStockCount;
+
+        public void addProducts(long count) {
+            productCount += count;
+        }
+
+        /**
+         * sign 이 1 이면 옵션 하나를 더하고 -1 이면 뺀다.
+         */
+        public void addItem(int sign, int price, int count, int lowStockThreshold) {
+            skuCount += sign;
+            totalStock += (long) sign * count;
+            stockValue += (long) sign * price * count;
+            if (count <= lowStockThreshold) {
+                lowStockCount += sign;
+            }
+        }
+
+        public boolean isZero() {
+            return productCount == 0 && skuCount == 0 && totalStock == 0
+                    && stockValue == 0 && lowStockCount == 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.SellerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SellerStatsRepository extends JpaRepository<SellerStats, Long> {
+}
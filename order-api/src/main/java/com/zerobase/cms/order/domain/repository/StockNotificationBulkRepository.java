@@ -0,0 +1,157 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.product.StockNotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 알림 outbox(stock_notification)와 구독(stock_subscription)을 JDBC 로 다룬다.
+ * 구독 등록/해지 API 는 StockSubscriptionRepository 를 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockNotificationBulkRepository {
+    private static final String SELECT_SUBSCRIBED_ITEM_IDS =
+            "select distinct product_item_id from stock_subscription where product_item_id in (:ids)";
+    private static final String INSERT =
+            "insert into stock_notification (product_item_id, type, last_customer_id, created_at) values (?, ?, 0, ?)";
+    private static final String SELECT_CLAIMABLE =
+            "select id from stock_notification where claimed_until is null or claimed_until < ? order by id limit ?";
+    // 고른 사이 다른 인스턴스가 점유한 행은 조건에서 빠진다.
+    private static final String CLAIM =
+            "update stock_notification set claimed_by = :owner, claimed_until = :until "
+                    + "where id in (:ids) and (claimed_until is null or claimed_until < :now)";
+    private static final String SELECT_CLAIMED =
+            "select id, product_item_id, type, last_customer_id from stock_notification "
+                    + "where claimed_by = ? order by id";
+    private static final String UPDATE_PROGRESS =
+            "update stock_notification set last_customer_id = ?, claimed_until = ? where id = ? and claimed_by = ?";
+    private static final String RELEASE =
+            "update stock_notification set claimed_by = null, claimed_until = null where claimed_by = ?";
+    private static final String DELETE = "delete from stock_notification where id in (:ids)";
+    // uk_stock_subscription_product_item_id_customer_id 만 읽는다.
+    private static final String SELECT_SUBSCRIBER_IDS =
+            "select customer_id from stock_subscription where product_item_id = ? and customer_id > ? "
+                    + "order by customer_id limit ?";
+    private static final String SELECT_ITEM_COUNT = "select count from product_item where id = ?";
+    private static final String DELETE_BY_ITEMS = "delete from stock_notification where product_item_id in (:ids)";
+    private static final String DELETE_SUBSCRIPTIONS_BY_ITEMS =
+            "delete from stock_subscription where product_item_id in (:ids)";
+    private static final String DELETE_SUBSCRIPTIONS =
+            "delete from stock_subscription where product_item_id = :itemId and customer_id in (:customerIds)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public List<Long> findSubscribedItemIds(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.queryForList(SELECT_SUBSCRIBED_ITEM_IDS,
+                new MapSqlParameterSource("ids", itemIds), Long.class);
+    }
+
+    public void insertAll(Map<Long, StockNotificationType> notifications) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, notifications.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue().name(), now})
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 점유되지 않았거나 점유가 끝난 알림을 limit 개까지 owner 로 점유하고 돌려준다.
+     * owner 는 발송 주기마다 새로 만든 값이어야 한다.
+     */
+    public List<Pending> claim(String owner, int limit, LocalDateTime now, LocalDateTime until) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CLAIMABLE, Long.class, Timestamp.valueOf(now), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        namedParameterJdbcTemplate.update(CLAIM, new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("until", Timestamp.valueOf(until))
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(now)));
+        return jdbcTemplate.query(SELECT_CLAIMED, (rs, rowNum) -> new Pending(
+                rs.getLong("id"),
+                rs.getLong("product_item_id"),
+                StockNotificationType.valueOf(rs.getString("type")),
+                rs.getLong("last_customer_id")
+        ), owner);
+    }
+
+    /**
+     * 진행 위치를 남기고 점유를 until 까지 늘린다.
+     *
+     * @return 점유를 잃었으면 false
+     */
+    public boolean updateProgress(long id, String owner, long lastCustomerId, LocalDateTime until) {
+        return jdbcTemplate.update(UPDATE_PROGRESS, lastCustomerId, Timestamp.valueOf(until), id, owner) > 0;
+    }
+
+    /**
+     * 다 보내지 못한 알림의 점유를 풀어 다음 주기(다른 인스턴스 포함)에 바로 가져갈 수 있게 한다.
+     */
+    public void release(String owner) {
+        jdbcTemplate.update(RELEASE, owner);
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            namedParameterJdbcTemplate.update(DELETE, new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    public List<Long> findSubscriberIds(long productItemId, long afterCustomerId, int limit) {
+        return jdbcTemplate.queryForList(SELECT_SUBSCRIBER_IDS, Long.class, productItemId, afterCustomerId, limit);
+    }
+
+    /**
+     * 옵션의 현재 수량. 옵션이 없으면 null.
+     */
+    public Integer findItemCount(long productItemId) {
+        List<Integer> counts = jdbcTemplate.queryForList(SELECT_ITEM_COUNT, Integer.class, productItemId);
+        return counts.isEmpty() ? null : counts.get(0);
+    }
+
+    public void deleteSubscriptions(long productItemId, Collection<Long> customerIds) {
+        if (!customerIds.isEmpty()) {
+            namedParameterJdbcTemplate.update(DELETE_SUBSCRIPTIONS, new MapSqlParameterSource()
+                    .addValue("itemId", productItemId)
+                    .addValue("customerIds", customerIds));
+        }
+    }
+
+    /**
+     * 지워진 옵션의 구독과 보내지 않은 알림을 지운다.
+     */
+    public void deleteByItemIds(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", itemIds);
+        namedParameterJdbcTemplate.update(DELETE_BY_ITEMS, params);
+        namedParameterJdbcTemplate.update(DELETE_SUBSCRIPTIONS_BY_ITEMS, params);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Pending {
+        private long id;
+        private long productItemId;
+        private StockNotificationType type;
+        private long lastCustomerId;
+    }
+}
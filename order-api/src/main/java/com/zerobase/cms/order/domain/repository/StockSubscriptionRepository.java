@@ -0,0 +1,11 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.StockSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockSubscriptionRepository extends JpaRepository<StockSubscription, Long> {
+
+    boolean existsByProductItemIdAndCustomerId(Long productItemId, Long customerId);
+
+    long deleteByProductItemIdAndCustomerId(Long productItemId, Long customerId);
+}
@@ -10,9 +10,17 @@ public enum ErrorCode {
     NOT_FOUND_PRODUCT(HttpStatus.BAD_REQUEST, "상품을 찾을 수 없습니다."),
     NOT_FOUND_ITEM(HttpStatus.BAD_REQUEST, "아이템을 찾을 수 없습니다."),
     SAME_ITEM_NAME(HttpStatus.BAD_REQUEST, "아이템 명 중복입니다."),
+    NOT_FOUND_PRICE_HISTORY(HttpStatus.BAD_REQUEST, "가격 이력을 찾을 수 없습니다."),
 
     CART_CHANGE_FAIL(HttpStatus.BAD_REQUEST, "장바구니에 추가할 수 없습니다."),
-    ITEM_COUNT_NOT_ENOUGH(HttpStatus.BAD_REQUEST, "상품의 수량이 부족합니다.");
+    ITEM_COUNT_NOT_ENOUGH(HttpStatus.BAD_REQUEST, "상품의 수량이 부족합니다."),
+    NOT_FOUND_CART_ITEM(HttpStatus.BAD_REQUEST, "장바구니에 없는 상품입니다."),
+    CART_UPDATE_CONFLICT(HttpStatus.CONFLICT, "장바구니가 동시에 변경되었습니다. 다시 시도해 주세요."),
+
+    REQUEST_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+
+    UNSUPPORTED_IMPORT_FORMAT(HttpStatus.BAD_REQUEST, "지원하지 않는 파일 형식입니다. (csv, ndjson)"),
+    IMPORT_FILE_READ_FAIL(HttpStatus.BAD_REQUEST, "업로드 파일을 읽을 수 없습니다.");
 
     private final HttpStatus httpStatus;
     private final String detail;
@@ -0,0 +1,204 @@
+package com.zerobase.cms.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
+import com.zerobase.cms.order.domain.audit.AuditMode;
+import com.zerobase.cms.order.domain.repository.AuditRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Product / ProductItem 변경 이력(Envers)을 요청 경로 밖에서 기록한다.
+ *
+ * ASYNC  : 커밋된 변경분을 메모리 큐에 쌓고 스케줄러가 batch 로 기록한다.
+ *          큐가 가득 차면 호출 스레드에서 바로 기록해 유실 대신 지연을 택한다.
+ *          기록에 실패한 batch 는 버리지 않고 다음 주기에 먼저 다시 기록한다.
+ * OUTBOX : 변경분을 업무 트랜잭션 안에서 audit_outbox 에 한 행으로 남기고,
+ *          스케줄러가 outbox 행을 잠가 읽고 audit 테이블로 옮긴 뒤 같은 트랜잭션에서 지운다.
+ *          (여러 인스턴스가 relay 해도 같은 행은 한 번만 옮겨진다)
+ *          batch 가 실패하면 한 행씩 다시 옮겨 나머지를 살리고, 실패한 행은 시도 횟수를 올려
+ *          outbox.max-attempts 번 실패하면 dead letter 로 뺀다.
+ * SYNC   : Envers 기본 리스너가 그대로 동작한다. (JDBC 경로의 변경분만 여기서 즉시 기록)
+ */
+@Slf4j
+@Service
+public class AuditPipeline {
+    private final AuditMode mode;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final AuditRepository auditRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditChangeSet> queue;
+    private final List<AuditChangeSet> inFlight = new ArrayList<>();
+
+    public AuditPipeline(
+            @Value("${audit.mode:SYNC}") AuditMode mode,
+            @Value("${audit.batch-size:200}") int batchSize,
+            @Value("${audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${audit.outbox.max-attempts:5}") int maxAttempts,
+            AuditRepository auditRepository,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.auditRepository = auditRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public AuditMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Hibernate 이벤트를 거치지 않는 쓰기(JDBC batch) 경로가 변경분을 직접 넘길 때 사용한다.
+     * 현재 트랜잭션 안에서 호출되어야 한다.
+     */
+    public void record(AuditChangeSet changeSet) {
+        if (changeSet.getRecords().isEmpty()) {
+            return;
+        }
+        switch (mode) {
+            case OUTBOX:
+                auditRepository.insertOutbox(serialize(changeSet));
+                break;
+            case ASYNC:
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            enqueue(changeSet);
+                        }
+                    });
+                } else {
+                    enqueue(changeSet);
+                }
+                break;
+            default:
+                auditRepository.write(List.of(changeSet));
+        }
+    }
+
+    /**
+     * 커밋이 끝난 변경분을 큐에 넣는다. (ASYNC)
+     */
+    public void enqueue(AuditChangeSet changeSet) {
+        if (!queue.offer(changeSet)) {
+            log.warn("audit queue is full - writing change set on caller thread");
+            transactionTemplate.executeWithoutResult(status -> auditRepository.write(List.of(changeSet)));
+        }
+    }
+
+    public String serialize(AuditChangeSet changeSet) {
+        try {
+            return objectMapper.writeValueAsString(changeSet);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("audit change set serialize fail", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${audit.flush-interval-ms:500}")
+    public synchronized void flush() {
+        try {
+            if (mode == AuditMode.ASYNC) {
+                drainQueue();
+            } else if (mode == AuditMode.OUTBOX) {
+                relayOutbox();
+            }
+        } catch (RuntimeException e) {
+            // 다음 주기에 재시도 (ASYNC 는 inFlight batch, outbox 는 커밋되지 않은 행이 남아 있다)
+            log.error("audit flush fail", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 기록에 실패한 batch 는 inFlight 에 남겨 다음 주기에 먼저 다시 기록한다.
+     */
+    private void drainQueue() {
+        if (inFlight.isEmpty()) {
+            queue.drainTo(inFlight, batchSize);
+        }
+        while (!inFlight.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> auditRepository.write(inFlight));
+            inFlight.clear();
+            queue.drainTo(inFlight, batchSize);
+        }
+    }
+
+    private void relayOutbox() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    /**
+     * batch 를 한 트랜잭션으로 옮긴다. 실패하면 읽었던 행을 한 행씩 다시 옮기고 이번 주기를 끝낸다.
+     */
+    private int relayBatch() {
+        List<Long> ids = new ArrayList<>(batchSize);
+        try {
+            Integer count = transactionTemplate.execute(status -> {
+                List<AuditRepository.OutboxRow> rows = auditRepository.findOutbox(batchSize);
+                rows.forEach(row -> ids.add(row.getId()));
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                auditRepository.write(rows.stream()
+                        .map(row -> deserialize(row.getPayload()))
+                        .collect(Collectors.toList()));
+                auditRepository.deleteOutbox(ids);
+                return rows.size();
+            });
+            return count == null ? 0 : count;
+        } catch (RuntimeException e) {
+            log.warn("audit outbox batch relay fail - relaying {} rows one by one", ids.size(), e);
+            ids.forEach(this::relayOne);
+            return 0;
+        }
+    }
+
+    private void relayOne(long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    auditRepository.findOutboxRow(id).ifPresent(row -> {
+                        auditRepository.write(List.of(deserialize(row.getPayload())));
+                        auditRepository.deleteOutbox(List.of(id));
+                    }));
+        } catch (RuntimeException e) {
+            log.error("audit outbox row {} relay fail", id, e);
+            transactionTemplate.executeWithoutResult(status ->
+                    auditRepository.failOutbox(id, maxAttempts, e.toString()));
+        }
+    }
+
+    private AuditChangeSet deserialize(String payload) {
+        try {
+            return objectMapper.readValue(payload, AuditChangeSet.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("audit outbox payload parse fail", e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.zerobase.cms.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.client.CartKeyPolicy;
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.domain.model.CartArchive;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.repository.CartArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 오래 접근하지 않은 장바구니를 Redis 에서 MySQL(cart_archive)로 옮기고, 조회 시 다시 올린다.
+ * cart.archive.enabled=true 일 때만 동작하며, cart.archive.idle-days 는 cart.ttl-days 보다 짧아야 한다.
+ * 여러 인스턴스에서 동시에 돌리지 않는 것을 전제로 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartArchiveService {
+    private static final int BATCH_SIZE = 500;
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final RedisClient redisClient;
+    private final CartArchiveRepository cartArchiveRepository;
+    private final CartKeyPolicy cartKeyPolicy;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cart.archive.idle-days:7}")
+    private long idleDays;
+
+    @Scheduled(fixedDelayString = "${cart.archive.interval-ms:600000}")
+    public synchronized void archiveIdleCarts() {
+        if (!cartKeyPolicy.isTrackActivity()) {
+            return;
+        }
+        try {
+            long cutoff = System.currentTimeMillis() - Duration.ofDays(idleDays).toMillis();
+            int archived = 0;
+            List<Long> customerIds;
+            // 한 번 읽은 고객은 evict 되거나 활동 시각이 cutoff 이후로 바뀌어 다시 조회되지 않는다.
+            while (!(customerIds = redisClient.findIdleCustomerIds(cutoff, BATCH_SIZE)).isEmpty()) {
+                archived += archive(customerIds, cutoff);
+            }
+            if (archived > 0) {
+                log.info("cart archive finished - carts: {}", archived);
+            }
+        } catch (RuntimeException e) {
+            log.error("cart archive fail", e);
+        }
+    }
+
+    private int archive(List<Long> customerIds, long cutoff) {
+        Map<Long, RedisClient.Stamped<Cart>> carts = redisClient.getAllStamped(customerIds, Cart.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<CartArchive> archives = new ArrayList<>(carts.size());
+        carts.forEach((customerId, stamped) -> {
+            Cart cart = stamped.getValue();
+            // 빈 장바구니는 보관하지 않고 지운다.
+            if (!cart.getProducts().isEmpty()) {
+                archives.add(CartArchive.builder()
+                        .customerId(customerId)
+                        .payload(compress(cart))
+                        .archivedAt(now)
+                        .build());
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> cartArchiveRepository.saveAll(archives));
+
+        // 보관하는 사이 접근된 장바구니는 Redis 에 남기고 보관본을 버린다.
+        // 쓰기는 보관한 값(stamp)과 비교해 지우는 스크립트 안에서 걸러지므로 최신 변경이 지워지지 않는다.
+        List<Long> touched = new ArrayList<>();
+        for (Long customerId : customerIds) {
+            Long lastAccess = redisClient.getLastAccess(customerId);
+            RedisClient.Stamped<Cart> stamped = carts.get(customerId);
+            String stamp = stamped == null ? "" : stamped.getStamp();
+            if ((lastAccess != null && lastAccess > cutoff)
+                    || !redisClient.evictIfUnchanged(customerId, stamp, cutoff)) {
+                touched.add(customerId);
+            }
+        }
+        if (!touched.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> cartArchiveRepository.deleteAllByIdInBatch(touched));
+        }
+        return (int) archives.stream().filter(archive -> !touched.contains(archive.getCustomerId())).count();
+    }
+
+    /**
+     * 보관된 장바구니가 있으면 Redis 로 다시 올리고 돌려준다.
+     */
+    public Optional<Cart> restore(Long customerId) {
+        if (!cartKeyPolicy.isTrackActivity()) {
+            return Optional.empty();
+        }
+        return transactionTemplate.execute(status -> cartArchiveRepository.findById(customerId)
+                .map(archive -> {
+                    Cart cart = decompress(archive.getPayload());
+                    redisClient.put(customerId, cart);
+                    cartArchiveRepository.delete(archive);
+                    return cart;
+                }));
+    }
+
+    private static byte[] compress(Cart cart) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, cart);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cart archive compress fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Cart decompress(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return mapper.readValue(in, Cart.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cart archive decompress fail", e);
+        }
+    }
+}
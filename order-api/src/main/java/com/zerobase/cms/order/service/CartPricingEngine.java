@@ -0,0 +1,95 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartTotals;
+
+/**
+ * 장바구니 금액 계산. 가격은 장바구니 옵션의 price 를 쓰며,
+ * 이 값은 담을 때와 refresh 때 상품 스냅샷 가격으로 맞춘 값이다. (클라이언트가 보낸 값은 쓰지 않음)
+ * 옵션마다 마지막으로 계산한 금액(lineTotal)과 수량을 남겨 두고,
+ * 한 줄이 바뀌면 그 차이만 판매자 소계 / 합계에 더한다.
+ * 합계가 없는 장바구니(이전 형식, PUT 으로 받은 장바구니)는 price() 에서 전체를 다시 계산한다.
+ */
+public final class CartPricingEngine {
+
+    private CartPricingEngine() {
+    }
+
+    /**
+     * 합계가 없을 때만 전체를 계산한다.
+     */
+    public static Cart price(Cart cart) {
+        if (cart.getTotals() == null) {
+            reprice(cart);
+        }
+        return cart;
+    }
+
+    public static Cart reprice(Cart cart) {
+        cart.setTotals(new CartTotals());
+        for (Cart.Product product : cart.getProducts()) {
+            for (Cart.ProductItem item : product.getItems()) {
+                item.setLineTotal(null);
+                item.setLineCount(null);
+                updateLine(cart, product, item);
+            }
+        }
+        return cart;
+    }
+
+    /**
+     * 새로 담았거나 가격/수량이 바뀐 줄을 다시 계산한다.
+     */
+    public static void updateLine(Cart cart, Cart.Product product, Cart.ProductItem item) {
+        CartTotals totals = cart.getTotals();
+        if (totals == null) {
+            return;
+        }
+        long lineTotal = (long) item.getPrice() * item.getCount();
+        apply(totals, product.getSellerId(),
+                lineTotal - value(item.getLineTotal()), item.getCount() - value(item.getLineCount()));
+        item.setLineTotal(lineTotal);
+        item.setLineCount(item.getCount());
+    }
+
+    /**
+     * 장바구니에서 빠진 줄의 금액을 뺀다.
+     */
+    public static void removeLine(Cart cart, Cart.Product product, Cart.ProductItem item) {
+        CartTotals totals = cart.getTotals();
+        if (totals == null) {
+            return;
+        }
+        apply(totals, product.getSellerId(), -value(item.getLineTotal()), -value(item.getLineCount()));
+        item.setLineTotal(null);
+        item.setLineCount(null);
+    }
+
+    public static void removeProduct(Cart cart, Cart.Product product) {
+        for (Cart.ProductItem item : product.getItems()) {
+            removeLine(cart, product, item);
+        }
+    }
+
+    private static void apply(CartTotals totals, Long sellerId, long priceDelta, int countDelta) {
+        if (priceDelta != 0) {
+            Long key = sellerId == null ? 0L : sellerId;
+            long subtotal = totals.getSellerSubtotals().getOrDefault(key, 0L) + priceDelta;
+            if (subtotal == 0) {
+                totals.getSellerSubtotals().remove(key);
+            } else {
+                totals.getSellerSubtotals().put(key, subtotal);
+            }
+        }
+        totals.setTotalPrice(totals.getTotalPrice() + priceDelta);
+        totals.setTotalCount(totals.getTotalCount() + countDelta);
+    }
+
+    private static long value(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static int value(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -3,21 +3,32 @@ package com.zerobase.cms.order.service;
 import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartChange;
+import com.zerobase.cms.order.exception.CustomException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.zerobase.cms.order.domain.redis.CartChange.Type.*;
+import static com.zerobase.cms.order.exception.ErrorCode.CART_UPDATE_CONFLICT;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CartService {
 
+    // 다른 쓰기와 겹쳤을 때 다시 읽어 적용하는 횟수
+    private static final int CAS_ATTEMPTS = 3;
+
     private final RedisClient redisClient;
 
     public Cart getCart(Long customerId) {
@@ -30,13 +41,41 @@ public class CartService {
         return cart;
     }
 
+    /**
+     * 장바구니를 읽어 change 를 적용하고, 그 사이 다른 쓰기가 없었을 때만 쓴다. (compare-and-set)
+     * 겹치면 다시 읽어 적용하며 CAS_ATTEMPTS 번 모두 겹치면 CART_UPDATE_CONFLICT.
+     * change 에서 던진 예외는 그대로 나가고 아무것도 쓰지 않는다.
+     */
+    public Cart updateCart(Long customerId, Consumer<Cart> change) {
+        for (int attempt = 0; attempt < CAS_ATTEMPTS; attempt++) {
+            RedisClient.Stamped<Cart> stamped = redisClient.getStamped(customerId, Cart.class);
+            Cart cart = stamped.getValue() != null ? stamped.getValue() : new Cart(customerId);
+            change.accept(cart);
+            if (redisClient.compareAndPut(customerId, stamped.getStamp(), cart)) {
+                return cart;
+            }
+            log.debug("cart update conflict. customerId={}, attempt={}", customerId, attempt + 1);
+        }
+        throw new CustomException(CART_UPDATE_CONFLICT);
+    }
+
     public Cart addCart(Long customerId, AddProductCartForm form) {
+        return addCart(customerId, form, cart -> { });
+    }
 
-        Cart cart = redisClient.get(customerId, Cart.class);
-        if (cart == null) {
-            cart = new Cart();
-            cart.setCustomerId(customerId);
-        }
+    /**
+     * updateCart 로 담는다. check 는 읽은 장바구니마다(다시 읽을 때 포함) 담기 전에 불리며,
+     * 예외를 던지면 아무것도 쓰지 않는다.
+     */
+    public Cart addCart(Long customerId, AddProductCartForm form, Consumer<Cart> check) {
+        return updateCart(customerId, cart -> {
+            check.accept(cart);
+            merge(customerId, cart, form);
+        });
+    }
+
+    private void merge(Long customerId, Cart cart, AddProductCartForm form) {
+        CartPricingEngine.price(cart);
         // 이전에 같은 상품이 있냐
         Optional<Cart.Product> productOptional = cart.getProducts().stream()
                 .filter(product1 -> product1.getId().equals(form.getId()))
@@ -52,7 +91,7 @@ public class CartService {
                     .collect(Collectors.toMap(it -> it.getId(), it->it));
 
             if(!redisProduct.getName().equals(form.getName())) {
-                cart.addMessage(redisProduct.getName()+"의 정보가 변경되었습니다. 확인 부탁드립니다.");
+                cart.addChange(CartChange.product(PRODUCT_INFO_CHANGED, redisProduct));
             }
             for(Cart.ProductItem item : items) {
                 Cart.ProductItem redisItem = redisItemMap.get(item.getId());
@@ -60,18 +99,90 @@ public class CartService {
                 if(redisItem == null) {
                     // happy case
                     redisProduct.getItems().add(item);
+                    CartPricingEngine.updateLine(cart, redisProduct, item);
                 } else {
-                    if(redisItem.getPrice().equals(item.getPrice())) {
-                        cart.addMessage(redisProduct.getName() + item.getName() +"의 가격이 변경되었습니다. 확인 부탁드립니다.");
+                    if(!redisItem.getPrice().equals(item.getPrice())) {
+                        cart.addChange(CartChange.item(ITEM_PRICE_CHANGED, redisProduct, redisItem,
+                                redisItem.getPrice(), item.getPrice()));
+                        redisItem.setPrice(item.getPrice());
                     }
                     redisItem.setCount(redisItem.getCount() + item.getCount());
+                    CartPricingEngine.updateLine(cart, redisProduct, redisItem);
                 }
             }
         } else {
             Cart.Product product = Cart.Product.from(form);
             cart.getProducts().add(product);
+            for (Cart.ProductItem item : product.getItems()) {
+                CartPricingEngine.updateLine(cart, product, item);
+            }
+            redisClient.addCartIndex(product.getId(), customerId);
         }
-        redisClient.put(customerId, cart);
-        return cart;
+    }
+
+    /**
+     * 여러 고객의 장바구니를 한 번에 읽는다. 장바구니가 없는 고객은 결과에서 빠진다.
+     */
+    public Map<Long, Cart> getCarts(Collection<Long> customerIds) {
+        return redisClient.getAll(customerIds, Cart.class);
+    }
+
+    public Set<Long> getCustomerIdsByProductId(Long productId) {
+        return redisClient.getCartIndex(productId);
+    }
+
+    /**
+     * 삭제된 상품을 장바구니에서 빼고 변경(PRODUCT_REMOVED)을 남긴다.
+     * 역인덱스로 대상 고객만 골라 MGET 으로 읽고, 상품이 담긴 장바구니만 compareAndPut 으로 쓴다.
+     *
+     * @return 변경된 장바구니 수
+     */
+    public int removeProduct(Long productId) {
+        Set<Long> customerIds = redisClient.getCartIndex(productId);
+        if (customerIds.isEmpty()) {
+            return 0;
+        }
+
+        int changed = 0;
+        for (Map.Entry<Long, RedisClient.Stamped<Cart>> entry
+                : redisClient.getAllStamped(customerIds, Cart.class).entrySet()) {
+            if (removeProduct(entry.getKey(), entry.getValue(), productId)) {
+                changed++;
+            }
+        }
+        redisClient.deleteCartIndex(productId);
+        return changed;
+    }
+
+    /**
+     * 그 사이 다른 쓰기가 있으면 그 장바구니만 다시 읽어 적용한다.
+     * CAS_ATTEMPTS 번 모두 겹치면 건너뛴다. (다음 조회의 refresh 가 스냅샷이 없는 상품으로 뺀다)
+     */
+    private boolean removeProduct(Long customerId, RedisClient.Stamped<Cart> stamped, Long productId) {
+        for (int attempt = 0; attempt < CAS_ATTEMPTS; attempt++) {
+            if (stamped == null || !removeFrom(stamped.getValue(), productId)) {
+                return false;
+            }
+            if (redisClient.compareAndPut(customerId, stamped.getStamp(), stamped.getValue())) {
+                return true;
+            }
+            stamped = redisClient.getAllStamped(List.of(customerId), Cart.class).get(customerId);
+        }
+        log.warn("cart product remove conflict. customerId={}, productId={}", customerId, productId);
+        return false;
+    }
+
+    private static boolean removeFrom(Cart cart, Long productId) {
+        Optional<Cart.Product> found = cart.getProducts().stream()
+                .filter(product -> product.getId().equals(productId))
+                .findFirst();
+        if (found.isEmpty()) {
+            return false;
+        }
+        Cart.Product product = found.get();
+        CartPricingEngine.removeProduct(cart, product);
+        cart.getProducts().remove(product);
+        cart.addChange(CartChange.product(PRODUCT_REMOVED, product));
+        return true;
     }
 }
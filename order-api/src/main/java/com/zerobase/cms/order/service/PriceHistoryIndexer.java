@@ -0,0 +1,96 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.repository.PriceHistoryBulkRepository;
+import com.zerobase.cms.order.domain.repository.PriceHistoryBulkRepository.ItemRevision;
+import com.zerobase.cms.order.domain.repository.PriceHistoryBulkRepository.NewRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.envers.RevisionType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 아직 색인하지 않은 revision(audit_revision.price_indexed = false) 을 읽어 price_history 구간을 만든다.
+ * revision 번호는 pooled-lo 블록 단위로 예약되어 커밋 순서와 다르므로 번호 커서를 쓰지 않고,
+ * 새 revision 이 걸린 아이템의 구간을 그 아이템의 전체 revision 으로 다시 만든다.
+ * (다시 만들어도 결과가 같으므로 늦게 커밋된 revision 도 다음 실행에서 반영된다)
+ * 여러 인스턴스에서 동시에 돌리지 않는 것을 전제로 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryIndexer {
+    private static final int REV_BATCH = 1_000;
+    private static final int ITEM_CHUNK = 500;
+
+    private final PriceHistoryBulkRepository priceHistoryBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${price-history.index-interval-ms:60000}")
+    public synchronized void index() {
+        try {
+            List<Long> revs;
+            while (!(revs = priceHistoryBulkRepository.findPendingRevs(REV_BATCH)).isEmpty()) {
+                List<Long> batch = revs;
+                transactionTemplate.executeWithoutResult(status -> indexRevisions(batch));
+            }
+        } catch (RuntimeException e) {
+            log.error("price history index fail", e);
+        }
+    }
+
+    private void indexRevisions(List<Long> revs) {
+        List<Long> itemIds = priceHistoryBulkRepository.findItemIds(revs);
+        for (int from = 0; from < itemIds.size(); from += ITEM_CHUNK) {
+            rebuild(itemIds.subList(from, Math.min(from + ITEM_CHUNK, itemIds.size())));
+        }
+        priceHistoryBulkRepository.markIndexed(revs);
+        log.debug("price history indexed - revs: {}, items: {}", revs.size(), itemIds.size());
+    }
+
+    /**
+     * 아이템별 revision 을 시간순으로 훑어 가격이 바뀐 지점마다 구간을 만들고 기존 구간을 교체한다.
+     */
+    private void rebuild(List<Long> itemIds) {
+        List<NewRange> ranges = new ArrayList<>();
+        NewRange open = null;
+        Long currentItemId = null;
+        for (ItemRevision revision : priceHistoryBulkRepository.findItemRevisions(itemIds)) {
+            if (!Objects.equals(currentItemId, revision.getItemId())) {
+                currentItemId = revision.getItemId();
+                open = null;
+            }
+            LocalDateTime at = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(revision.getTimestamp()), ZoneId.systemDefault());
+
+            if (revision.getRevisionType() == RevisionType.DEL.getRepresentation()) {
+                if (open != null) {
+                    open.close(at);
+                }
+                open = null;
+                continue;
+            }
+            if (open != null && Objects.equals(open.getPrice(), revision.getPrice())) {
+                continue;
+            }
+            if (open != null) {
+                open.close(at);
+            }
+            NewRange range = new NewRange(revision.getItemId(), revision.getPrice(),
+                    open == null ? null : open.getPrice(), at, null, revision.getRev());
+            ranges.add(range);
+            open = range;
+        }
+
+        priceHistoryBulkRepository.deleteByItemIds(itemIds);
+        priceHistoryBulkRepository.insertAll(ranges);
+    }
+}
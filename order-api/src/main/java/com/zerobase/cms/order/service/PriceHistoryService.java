@@ -0,0 +1,48 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.model.PriceHistory;
+import com.zerobase.cms.order.domain.repository.PriceHistoryRepository;
+import com.zerobase.cms.order.exception.CustomException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRICE_HISTORY;
+
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryService {
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    /**
+     * time 시점의 아이템 가격. (product_item_id, valid_from) 인덱스로 한 건만 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public Integer getPriceAt(Long itemId, LocalDateTime time) {
+        PriceHistory history = priceHistoryRepository
+                .findFirstByProductItemIdAndValidFromLessThanEqualOrderByValidFromDesc(itemId, time)
+                .orElseThrow(() -> new CustomException(NOT_FOUND_PRICE_HISTORY));
+        if (history.getValidTo() != null && !history.getValidTo().isAfter(time)) {
+            // 삭제된 아이템
+            throw new CustomException(NOT_FOUND_PRICE_HISTORY);
+        }
+        return history.getPrice();
+    }
+
+    /**
+     * since 이후 가격이 바뀐 기록. 최초 등록 구간은 변경으로 보지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public List<PriceHistory> getPriceChanges(Collection<Long> itemIds, LocalDateTime since) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return priceHistoryRepository
+                .findAllByProductItemIdInAndValidFromAfterAndPreviousPriceNotNullOrderByProductItemIdAscValidFromAsc(
+                        itemIds, since);
+    }
+}
@@ -0,0 +1,248 @@
+package com.zerobase.cms.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
+import com.zerobase.cms.order.domain.audit.AuditRecord;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.ProductImportFormat;
+import com.zerobase.cms.order.domain.product.ProductImportResult;
+import com.zerobase.cms.order.domain.product.ProductImportRow;
+import com.zerobase.cms.order.domain.product.SellerStatsChangedEvent;
+import com.zerobase.cms.order.domain.repository.ProductBulkRepository;
+import com.zerobase.cms.order.exception.CustomException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.envers.RevisionType;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.zerobase.cms.order.exception.ErrorCode.IMPORT_FILE_READ_FAIL;
+
+/**
+ * 셀러 상품 대량 등록.
+ * 파일을 한 줄씩 읽어 검증하고, CHUNK_SIZE 단위로 모아 JDBC batch 로 저장한다.
+ * 메모리에는 현재 chunk 만 유지되므로 파일 크기와 무관하게 사용량이 일정하다.
+ * id 는 IdBlockAllocator 로 chunk 단위 예약하므로 상품/옵션 모두 batch insert 된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+    private static final int CHUNK_SIZE = 500;
+    private static final int CSV_COLUMNS = 5;
+
+    private final ProductBulkRepository productBulkRepository;
+    private final AuditPipeline auditPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductImportResult importProducts(Long sellerId, MultipartFile file) {
+        ProductImportFormat format = ProductImportFormat.from(file.getOriginalFilename(), file.getContentType());
+        try (InputStream inputStream = file.getInputStream()) {
+            return importProducts(sellerId, inputStream, format);
+        } catch (IOException e) {
+            throw new CustomException(IMPORT_FILE_READ_FAIL);
+        }
+    }
+
+    public ProductImportResult importProducts(Long sellerId, InputStream inputStream, ProductImportFormat format) {
+        ProductImportResult result = new ProductImportResult();
+        List<Product> chunk = new ArrayList<>();
+        int chunkRows = 0;
+
+        Product current = null;
+        Set<String> currentItemNames = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            int rowNumber = 0;
+            String line;
+            if (format == ProductImportFormat.CSV) {
+                // header
+                reader.readLine();
+                rowNumber++;
+            }
+
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.countRow();
+
+                ProductImportRow row;
+                try {
+                    row = parse(line, format);
+                    validate(row);
+                } catch (IllegalArgumentException e) {
+                    result.addError(rowNumber, e.getMessage());
+                    continue;
+                }
+
+                if (current == null || !current.getName().equals(row.getProductName())) {
+                    // 상품 경계에서만 flush 해서 한 상품이 두 번 등록되지 않도록 한다.
+                    if (chunkRows >= CHUNK_SIZE) {
+                        flush(chunk, result);
+                        chunkRows = 0;
+                        log.info("product import in progress - seller: {}, rows: {}, products: {}, items: {}",
+                                sellerId, result.getTotalRows(), result.getImportedProducts(),
+                                result.getImportedItems());
+                    }
+                    current = Product.builder()
+                            .sellerId(sellerId)
+                            .name(row.getProductName())
+                            .description(row.getDescription())
+                            .productItems(new ArrayList<>())
+                            .build();
+                    currentItemNames.clear();
+                    chunk.add(current);
+                }
+
+                if (!currentItemNames.add(row.getItemName())) {
+                    result.addError(rowNumber, "아이템 명 중복입니다. (" + row.getItemName() + ")");
+                    continue;
+                }
+                current.addProductItem(ProductItem.builder()
+                        .sellerId(sellerId)
+                        .name(row.getItemName())
+                        .price(row.getPrice())
+                        .count(row.getCount())
+                        .build());
+                chunkRows++;
+            }
+            flush(chunk, result);
+        } catch (IOException e) {
+            throw new CustomException(IMPORT_FILE_READ_FAIL);
+        }
+
+        log.info("product import finished - seller: {}, {}", sellerId, result);
+        return result;
+    }
+
+    private void flush(List<Product> chunk, ProductImportResult result) {
+        // 유효한 옵션이 하나도 없는 상품은 저장하지 않는다.
+        chunk.removeIf(product -> product.getProductItems().isEmpty());
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            productBulkRepository.insertAll(chunk);
+            auditPipeline.record(toChangeSet(chunk));
+            eventPublisher.publishEvent(toStatsEvent(chunk));
+        });
+        result.addImported(chunk.size(),
+                chunk.stream().mapToInt(product -> product.getProductItems().size()).sum());
+        chunk.clear();
+    }
+
+    private static AuditChangeSet toChangeSet(List<Product> products) {
+        AuditChangeSet changeSet = AuditChangeSet.now();
+        for (Product product : products) {
+            changeSet.add(AuditRecord.of(product, RevisionType.ADD));
+            product.getProductItems().forEach(item -> changeSet.add(AuditRecord.of(item, RevisionType.ADD)));
+        }
+        return changeSet;
+    }
+
+    // chunk 는 한 판매자의 상품만 담는다.
+    private static SellerStatsChangedEvent toStatsEvent(List<Product> products) {
+        SellerStatsChangedEvent event = new SellerStatsChangedEvent(products.get(0).getSellerId());
+        for (Product product : products) {
+            event.productAdded();
+            product.getProductItems().forEach(item -> event.itemAdded(item.getPrice(), item.getCount()));
+        }
+        return event;
+    }
+
+    private ProductImportRow parse(String line, ProductImportFormat format) {
+        if (format == ProductImportFormat.NDJSON) {
+            try {
+                return objectMapper.readValue(line, ProductImportRow.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+            }
+        }
+
+        List<String> columns = splitCsv(line);
+        if (columns.size() != CSV_COLUMNS) {
+            throw new IllegalArgumentException("컬럼 수가 올바르지 않습니다. (" + columns.size() + ")");
+        }
+        return ProductImportRow.builder()
+                .productName(columns.get(0))
+                .description(columns.get(1))
+                .itemName(columns.get(2))
+                .price(parseNumber(columns.get(3), "가격"))
+                .count(parseNumber(columns.get(4), "수량"))
+                .build();
+    }
+
+    private void validate(ProductImportRow row) {
+        if (row.getProductName() == null || row.getProductName().isBlank()) {
+            throw new IllegalArgumentException("상품명이 비어 있습니다.");
+        }
+        if (row.getItemName() == null || row.getItemName().isBlank()) {
+            throw new IllegalArgumentException("아이템 명이 비어 있습니다.");
+        }
+        if (row.getPrice() == null || row.getPrice() < 0) {
+            throw new IllegalArgumentException("가격이 올바르지 않습니다.");
+        }
+        if (row.getCount() == null || row.getCount() < 0) {
+            throw new IllegalArgumentException("수량이 올바르지 않습니다.");
+        }
+    }
+
+    private static Integer parseNumber(String value, String column) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 값이 숫자가 아닙니다. (" + value + ")");
+        }
+    }
+
+    /**
+     * RFC 4180 형태의 한 줄을 분리한다. (따옴표 안의 쉼표, "" 이스케이프 지원)
+     */
+    static List<String> splitCsv(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder builder = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    builder.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    builder.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(builder.toString());
+                builder.setLength(0);
+            } else {
+                builder.append(c);
+            }
+        }
+        columns.add(builder.toString());
+        return columns;
+    }
+}
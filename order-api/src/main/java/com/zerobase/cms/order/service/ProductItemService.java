@@ -1,17 +1,37 @@
 package com.zerobase.cms.order.service;
 
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.product.BulkUpdateResult;
+import com.zerobase.cms.order.domain.product.ProductChangedEvent;
+import com.zerobase.cms.order.domain.product.ProductItemStock;
+import com.zerobase.cms.order.domain.product.SellerStatsChangedEvent;
+import com.zerobase.cms.order.domain.product.StockChangedEvent;
 import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
+import com.zerobase.cms.order.domain.product.UpdateProductItemStockForm;
+import com.zerobase.cms.order.domain.repository.AuditRepository;
+import com.zerobase.cms.order.domain.repository.ProductBulkRepository;
 import com.zerobase.cms.order.domain.repository.ProductItemRepository;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.envers.RevisionType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static com.zerobase.cms.order.exception.ErrorCode.*;
 
 @Service
@@ -19,18 +39,27 @@ import static com.zerobase.cms.order.exception.ErrorCode.*;
 public class ProductItemService {
     private final ProductRepository productRepository;
     private final ProductItemRepository productItemRepository;
+    private final ProductBulkRepository productBulkRepository;
+    private final AuditRepository auditRepository;
+    private final AuditPipeline auditPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // in 절 하나에 넣을 id 수
+    private static final int ID_CHUNK_SIZE = 1_000;
 
     @Transactional
     public Product addProductItem(Long sellerId, AddProductItemForm form) {
         Product product = productRepository.findBySellerIdAndId(sellerId, form.getProductId())
                 .orElseThrow(() -> new CustomException(NOT_FOUND_PRODUCT));
-        if(product.getProductItems().stream()
-                .anyMatch(item -> item.getName().equals(form.getName()))) {
+        if(product.getItemIndex().containsName(form.getName())) {
             throw new CustomException(SAME_ITEM_NAME);
         }
 
         ProductItem productItem = ProductItem.of(sellerId, form);
-        product.getProductItems().add(productItem);
+        product.addProductItem(productItem);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(product.getId())));
+        eventPublisher.publishEvent(new SellerStatsChangedEvent(sellerId)
+                .itemAdded(productItem.getPrice(), productItem.getCount()));
         return product;
     }
 
@@ -39,15 +68,119 @@ public class ProductItemService {
             Long sellerId, UpdateProductItemForm form
     ) {
         ProductItem productItem = productItemRepository.findById(form.getId())
-                .filter(pi -> pi.getSellerId().equals(sellerId))
+                .filter(pi -> pi.getSellerId().equals(sellerId) && !pi.getProduct().isDeleted())
                 .orElseThrow(() -> new CustomException(NOT_FOUND_ITEM));
+        // 같은 상품의 다른 옵션 이름이면 flush 때 unique 제약에 걸리기 전에 거절한다.
+        if (!productItem.getProduct().getItemIndex().rename(productItem, form.getName())) {
+            throw new CustomException(SAME_ITEM_NAME);
+        }
 
-        productItem.setName(form.getName());
+        SellerStatsChangedEvent stats = new SellerStatsChangedEvent(sellerId).itemChanged(
+                productItem.getPrice(), productItem.getCount(), form.getPrice(), form.getCount());
+        StockChangedEvent stock = new StockChangedEvent()
+                .add(productItem.getId(), productItem.getCount(), form.getCount());
         productItem.setCount(form.getCount());
         productItem.setPrice(form.getPrice());
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productItem.getProduct().getId())));
+        eventPublisher.publishEvent(stats);
+        if (!stock.isEmpty()) {
+            eventPublisher.publishEvent(stock);
+        }
         return productItem;
     }
 
+    /**
+     * 가격/수량 일괄 수정.
+     * 소유 확인은 in 절 조회 한 번(chunk 단위)으로, 수정은 JDBC batch update 로 처리해 엔티티를 읽지 않는다.
+     * 소유 확인 때 읽은 가격/수량으로 판매자 집계 증감분을 만든다.
+     * 같은 id 가 여러 번 오면 마지막 값만 보며, 마지막 값이 잘못되었으면 그 id 는 거절한다.
+     */
+    @Transactional
+    public BulkUpdateResult updateProductItemStocks(Long sellerId, List<UpdateProductItemStockForm> forms) {
+        Map<Long, UpdateProductItemStockForm> lastForms = new LinkedHashMap<>();
+        for (UpdateProductItemStockForm form : forms) {
+            if (form.getId() != null) {
+                lastForms.put(form.getId(), form);
+            }
+        }
+        Map<Long, UpdateProductItemStockForm> requested = new LinkedHashMap<>();
+        List<Long> rejectedIds = new ArrayList<>();
+        lastForms.forEach((id, form) -> {
+            if (isValid(form)) {
+                requested.put(id, form);
+            } else {
+                rejectedIds.add(id);
+            }
+        });
+
+        Map<Long, ProductItemStock> owned = new HashMap<>(requested.size() * 2);
+        List<Long> ids = new ArrayList<>(requested.keySet());
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            productItemRepository.findStocksBySellerIdAndIdIn(
+                    sellerId, ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()))
+            ).forEach(stock -> owned.put(stock.getId(), stock));
+        }
+
+        List<UpdateProductItemStockForm> accepted = new ArrayList<>(owned.size());
+        SellerStatsChangedEvent stats = new SellerStatsChangedEvent(sellerId);
+        StockChangedEvent stockChanged = new StockChangedEvent();
+        requested.forEach((id, form) -> {
+            ProductItemStock stock = owned.get(id);
+            if (stock == null) {
+                rejectedIds.add(id);
+                return;
+            }
+            accepted.add(form);
+            // batch update 의 coalesce 와 같이 비어 있는 값은 그대로 둔다.
+            stats.itemChanged(stock.getPrice(), stock.getCount(),
+                    form.getPrice() != null ? form.getPrice() : stock.getPrice(),
+                    form.getCount() != null ? form.getCount() : stock.getCount());
+            if (form.getCount() != null) {
+                stockChanged.add(id, stock.getCount(), form.getCount());
+            }
+        });
+        if (!accepted.isEmpty()) {
+            productBulkRepository.updateItemStocks(sellerId, accepted);
+            List<Long> updatedIds = accepted.stream()
+                    .map(UpdateProductItemStockForm::getId).collect(Collectors.toList());
+            recordAudit(updatedIds);
+            publishChanged(updatedIds);
+            eventPublisher.publishEvent(stats);
+            if (!stockChanged.isEmpty()) {
+                eventPublisher.publishEvent(stockChanged);
+            }
+        }
+        return new BulkUpdateResult(accepted.size(), rejectedIds);
+    }
+
+    private static boolean isValid(UpdateProductItemStockForm form) {
+        if (form.getPrice() == null && form.getCount() == null) {
+            return false;
+        }
+        return (form.getPrice() == null || form.getPrice() >= 0)
+                && (form.getCount() == null || form.getCount() >= 0);
+    }
+
+    private void recordAudit(List<Long> itemIds) {
+        // batch update 는 Hibernate 이벤트를 거치지 않으므로 수정된 행을 직접 넘긴다.
+        AuditChangeSet changeSet = AuditChangeSet.now();
+        for (int from = 0; from < itemIds.size(); from += ID_CHUNK_SIZE) {
+            auditRepository.findItemRecords(
+                    itemIds.subList(from, Math.min(from + ID_CHUNK_SIZE, itemIds.size())), RevisionType.MOD
+            ).forEach(changeSet::add);
+        }
+        auditPipeline.record(changeSet);
+    }
+
+    private void publishChanged(List<Long> itemIds) {
+        Set<Long> productIds = new HashSet<>();
+        for (int from = 0; from < itemIds.size(); from += ID_CHUNK_SIZE) {
+            productIds.addAll(productItemRepository.findProductIdsByIdIn(
+                    itemIds.subList(from, Math.min(from + ID_CHUNK_SIZE, itemIds.size()))));
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+    }
+
     @Transactional
     public void deleteProductItem(Long sellerId, Long productItemId) {
         ProductItem productItem = productItemRepository.findById(productItemId)
@@ -0,0 +1,78 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
+import com.zerobase.cms.order.domain.audit.AuditRecord;
+import com.zerobase.cms.order.domain.product.ProductDeletedEvent;
+import com.zerobase.cms.order.domain.repository.ProductBulkRepository;
+import com.zerobase.cms.order.domain.repository.StockNotificationBulkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.zerobase.cms.order.domain.audit.AuditRecord.AuditTarget.PRODUCT;
+import static com.zerobase.cms.order.domain.audit.AuditRecord.AuditTarget.PRODUCT_ITEM;
+
+/**
+ * 삭제 요청된(deleted_at) 상품을 batch-size 개씩 실제로 지운다.
+ * 한 묶음마다 옵션/상품 행 삭제, 구독/알림 정리, DEL 이력 기록을 한 트랜잭션에서 하고,
+ * 커밋 이후 ProductDeletedEvent 로 상품→장바구니 역색인(cart:product:{id})을 따라 장바구니에서 뺀다.
+ * grace-ms 는 삭제 직전에 상품을 읽은 요청이 끝날 때까지 기다리는 시간이다.
+ * 여러 인스턴스에서 동시에 돌려도 같은 행을 두 번 지울 뿐 결과는 같다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductReaper {
+    private final ProductBulkRepository productBulkRepository;
+    private final StockNotificationBulkRepository stockNotificationBulkRepository;
+    private final AuditPipeline auditPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.purge.batch-size:100}")
+    private int batchSize;
+
+    @Value("${product.purge.grace-ms:60000}")
+    private long graceMillis;
+
+    @Scheduled(fixedDelayString = "${product.purge.interval-ms:60000}")
+    public synchronized void purge() {
+        try {
+            LocalDateTime deletedBefore = LocalDateTime.now().minusNanos(graceMillis * 1_000_000);
+            int purged = 0;
+            List<Long> productIds;
+            while (!(productIds = productBulkRepository.findDeletedProductIds(deletedBefore, batchSize)).isEmpty()) {
+                purge(productIds);
+                purged += productIds.size();
+            }
+            if (purged > 0) {
+                log.info("product purge finished - products: {}", purged);
+            }
+        } catch (RuntimeException e) {
+            // 지우지 못한 상품은 deleted_at 이 남아 있어 다음 주기에 다시 시도한다.
+            log.error("product purge fail", e);
+        }
+    }
+
+    private void purge(List<Long> productIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> itemIds = productBulkRepository.findItemIdsByProductIds(productIds);
+            stockNotificationBulkRepository.deleteByItemIds(itemIds);
+            productBulkRepository.deleteProducts(productIds);
+
+            AuditChangeSet changeSet = AuditChangeSet.now();
+            itemIds.forEach(itemId -> changeSet.add(AuditRecord.deleted(PRODUCT_ITEM, itemId)));
+            productIds.forEach(productId -> changeSet.add(AuditRecord.deleted(PRODUCT, productId)));
+            auditPipeline.record(changeSet);
+
+            productIds.forEach(productId -> eventPublisher.publishEvent(new ProductDeletedEvent(productId)));
+        });
+    }
+}
@@ -1,30 +1,58 @@
 package com.zerobase.cms.order.service;
 
+import com.zerobase.cms.order.config.OrderMetrics;
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.SellerProductPage;
+import com.zerobase.cms.order.domain.product.SellerProductSummary;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 
+/**
+ * 조회 전용 서비스. 읽기 전용 트랜잭션으로 열어 replica 가 있으면 replica 에서 읽는다. (ReadWriteRoutingDataSource)
+ */
 @Service
 @RequiredArgsConstructor
 public class ProductSearchService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository productRepository;
+    private final OrderMetrics orderMetrics;
 
+    @Transactional(readOnly = true)
     public List<Product> searchByName(String name) {
-        return productRepository.searchByName(name);
+        return orderMetrics.getSearchByName().record(() -> productRepository.searchByName(name));
     }
 
+    @Transactional(readOnly = true)
     public Product getByProductId(Long productId) {
         return productRepository.findWithProductItemsById(productId)
                 .orElseThrow(() -> new CustomException(NOT_FOUND_PRODUCT));
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getListByProductIds(List<Long> productIds) {
         return productRepository.findAllByIdIn(productIds);
     }
+
+    /**
+     * 판매자 상품 목록 (keyset pagination). size 는 1 ~ MAX_PAGE_SIZE 로 맞춘다.
+     */
+    @Transactional(readOnly = true)
+    public SellerProductPage getSellerProducts(Long sellerId, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // 한 개 더 읽어 다음 페이지가 있는지 본다.
+        List<SellerProductSummary> products = productRepository.findSellerProducts(sellerId, cursor, pageSize + 1);
+        if (products.size() <= pageSize) {
+            return new SellerProductPage(products, null);
+        }
+        List<SellerProductSummary> page = products.subList(0, pageSize);
+        return new SellerProductPage(page, page.get(pageSize - 1).getId());
+    }
 }
@@ -2,27 +2,42 @@ package com.zerobase.cms.order.service;
 
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.model.ProductItemIndex;
 import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.ProductChangedEvent;
+import com.zerobase.cms.order.domain.product.SellerStatsChangedEvent;
+import com.zerobase.cms.order.domain.product.StockChangedEvent;
 import com.zerobase.cms.order.domain.product.UpdateProductForm;
 import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_ITEM;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
+import static com.zerobase.cms.order.exception.ErrorCode.SAME_ITEM_NAME;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Product addProduct(Long sellerId, AddProductForm form) {
-        return productRepository.save(Product.of(sellerId, form));
+        Product product = productRepository.save(Product.of(sellerId, form));
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(product.getId())));
+        SellerStatsChangedEvent stats = new SellerStatsChangedEvent(sellerId).productAdded();
+        product.getProductItems().forEach(item -> stats.itemAdded(item.getPrice(), item.getCount()));
+        eventPublisher.publishEvent(stats);
+        return product;
     }
 
     @Transactional
@@ -34,22 +49,40 @@ public class ProductService {
         product.setName(form.getName());
         product.setDescription(form.getDescription());
 
+        ProductItemIndex itemIndex = product.getItemIndex();
+        SellerStatsChangedEvent stats = new SellerStatsChangedEvent(sellerId);
+        StockChangedEvent stock = new StockChangedEvent();
         for(UpdateProductItemForm itemForm : form.getItems()) {
-            ProductItem item = product.getProductItems().stream()
-                    .filter(pi -> pi.getId().equals(itemForm.getId()))
-                    .findFirst().orElseThrow(
-                            () -> new CustomException(NOT_FOUND_ITEM));
-            item.setName(itemForm.getName());
+            ProductItem item = itemIndex.findById(itemForm.getId())
+                    .orElseThrow(() -> new CustomException(NOT_FOUND_ITEM));
+            if (!itemIndex.rename(item, itemForm.getName())) {
+                throw new CustomException(SAME_ITEM_NAME);
+            }
+            stats.itemChanged(item.getPrice(), item.getCount(), itemForm.getPrice(), itemForm.getCount());
+            stock.add(item.getId(), item.getCount(), itemForm.getCount());
             item.setPrice(itemForm.getPrice());
             item.setCount(itemForm.getCount());
         }
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(product.getId())));
+        eventPublisher.publishEvent(stats);
+        if (!stock.isEmpty()) {
+            eventPublisher.publishEvent(stock);
+        }
         return product;
     }
 
+    /**
+     * 삭제 표시만 하고 돌아간다. 이후 조회에서는 빠지고(상품 버전이 올라가 장바구니 조회 때도 빠진다),
+     * 옵션/상품 행 삭제와 장바구니 정리는 ProductReaper 가 나중에 한다.
+     */
     @Transactional
     public void deleteProduct(Long sellerId, Long productId) {
         Product product = productRepository.findBySellerIdAndId(sellerId, productId)
                 .orElseThrow(() -> new CustomException(NOT_FOUND_PRODUCT));
-        productRepository.delete(product);
+        SellerStatsChangedEvent stats = new SellerStatsChangedEvent(sellerId).productRemoved();
+        product.getProductItems().forEach(item -> stats.itemRemoved(item.getPrice(), item.getCount()));
+        product.setDeletedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productId)));
+        eventPublisher.publishEvent(stats);
     }
 }
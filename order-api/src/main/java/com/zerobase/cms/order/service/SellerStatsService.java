@@ -0,0 +1,96 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.product.SellerStatsChangedEvent;
+import com.zerobase.cms.order.domain.product.SellerStatsDto;
+import com.zerobase.cms.order.domain.repository.SellerStatsBulkRepository;
+import com.zerobase.cms.order.domain.repository.SellerStatsBulkRepository.Counts;
+import com.zerobase.cms.order.domain.repository.SellerStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 판매자 집계(seller_stats).
+ * 상품 쓰기가 보낸 증감분을 커밋 직전에 같은 트랜잭션에서 더하므로 상품과 집계가 함께 커밋/롤백된다.
+ * 판매자 행 잠금은 커밋까지만 잡힌다.
+ * 주기적으로 판매자마다 product_item 을 다시 집계해 어긋난 값(임계값 변경, 직접 수정한 데이터 등)을 고친다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SellerStatsService {
+    private final SellerStatsRepository sellerStatsRepository;
+    private final SellerStatsBulkRepository sellerStatsBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${seller-stats.low-stock-threshold:5}")
+    private int lowStockThreshold;
+
+    public SellerStatsDto getStats(Long sellerId) {
+        return sellerStatsRepository.findById(sellerId)
+                .map(SellerStatsDto::from)
+                .orElseGet(() -> SellerStatsDto.empty(sellerId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatsChanged(SellerStatsChangedEvent event) {
+        Counts delta = new Counts();
+        delta.addProducts(event.getProductDelta());
+        for (SellerStatsChangedEvent.ItemChange item : event.getItems()) {
+            if (item.getOldPrice() != null || item.getOldCount() != null) {
+                delta.addItem(-1, valueOf(item.getOldPrice()), valueOf(item.getOldCount()), lowStockThreshold);
+            }
+            if (item.getNewPrice() != null || item.getNewCount() != null) {
+                delta.addItem(1, valueOf(item.getNewPrice()), valueOf(item.getNewCount()), lowStockThreshold);
+            }
+        }
+        if (!delta.isZero()) {
+            sellerStatsBulkRepository.applyDelta(event.getSellerId(), delta);
+        }
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    @Scheduled(fixedDelayString = "${seller-stats.recompute-interval-ms:3600000}")
+    public void recomputeAll() {
+        try {
+            int repaired = 0;
+            for (Long sellerId : sellerStatsBulkRepository.findSellerIds()) {
+                if (recompute(sellerId)) {
+                    repaired++;
+                }
+            }
+            if (repaired > 0) {
+                log.info("seller stats recompute finished - repaired sellers: {}", repaired);
+            }
+        } catch (RuntimeException e) {
+            log.error("seller stats recompute fail", e);
+        }
+    }
+
+    /**
+     * 판매자 행을 잠근 뒤 다시 집계해 저장된 값과 다르면 덮어쓴다.
+     * 잠금 이후에 커밋되는 쓰기는 증감분이 이 값 위에 더해진다.
+     *
+     * @return 값을 고쳤으면 true
+     */
+    public boolean recompute(Long sellerId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Counts stored = sellerStatsBulkRepository.lock(sellerId);
+            Counts actual = sellerStatsBulkRepository.aggregate(sellerId, lowStockThreshold);
+            if (stored.equals(actual)) {
+                return false;
+            }
+            log.warn("seller stats drift - seller: {}, stored: {}, actual: {}", sellerId, stored, actual);
+            sellerStatsBulkRepository.overwrite(sellerId, actual);
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,235 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.client.StockNotificationSender;
+import com.zerobase.cms.order.domain.model.StockSubscription;
+import com.zerobase.cms.order.domain.product.StockChangedEvent;
+import com.zerobase.cms.order.domain.product.StockNotificationType;
+import com.zerobase.cms.order.domain.repository.ProductItemRepository;
+import com.zerobase.cms.order.domain.repository.StockNotificationBulkRepository;
+import com.zerobase.cms.order.domain.repository.StockNotificationBulkRepository.Pending;
+import com.zerobase.cms.order.domain.repository.StockSubscriptionRepository;
+import com.zerobase.cms.order.exception.CustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_ITEM;
+
+/**
+ * 재입고 / 품절 임박 알림.
+ *
+ * 요청 경로 : 수량이 바뀐 옵션 중 알림 대상이면서 구독자가 있는 것만 커밋 직전에 stock_notification 에 한 행씩 남긴다.
+ *            (구독자 수와 무관하게 옵션당 insert 한 번)
+ * 발송      : 스케줄러가 outbox 를 읽어 같은 옵션 / 같은 종류는 가장 최근 알림 하나로 합치고,
+ *            구독자를 customer_id 순으로 page-size 씩 읽어 StockNotificationSender 로 보낸다.
+ *            재입고 알림은 페이지마다 현재 수량을 다시 보고, 그새 다시 품절되었으면 보내지 않는다. (구독은 남긴다)
+ *            페이지마다 진행 위치를 커밋하므로 중단되어도 이어서 보내며,
+ *            한 번에 max-pages-per-run 페이지까지만 보내 구독자가 많은 옵션이 다른 작업을 오래 막지 않는다.
+ * 여러 인스턴스가 함께 돌 수 있도록 발송 전에 outbox 행을 주기마다 새 owner 로 점유(lease-ms)하고,
+ * 페이지마다 점유를 늘린다. 점유를 잃으면(lease 만료 후 다른 인스턴스가 가져감) 그 알림은 더 보내지 않는다.
+ */
+@Slf4j
+@Service
+public class StockNotificationService {
+    // in 절 하나에 넣을 id 수
+    private static final int ID_CHUNK_SIZE = 1_000;
+
+    private final StockSubscriptionRepository stockSubscriptionRepository;
+    private final StockNotificationBulkRepository stockNotificationBulkRepository;
+    private final ProductItemRepository productItemRepository;
+    private final StockNotificationSender stockNotificationSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int lowStockThreshold;
+    private final int batchSize;
+    private final int pageSize;
+    private final int maxPagesPerRun;
+    private final long leaseMillis;
+
+    public StockNotificationService(
+            StockSubscriptionRepository stockSubscriptionRepository,
+            StockNotificationBulkRepository stockNotificationBulkRepository,
+            ProductItemRepository productItemRepository,
+            StockNotificationSender stockNotificationSender,
+            TransactionTemplate transactionTemplate,
+            @Value("${seller-stats.low-stock-threshold:5}") int lowStockThreshold,
+            @Value("${stock-notification.batch-size:100}") int batchSize,
+            @Value("${stock-notification.page-size:1000}") int pageSize,
+            @Value("${stock-notification.max-pages-per-run:100}") int maxPagesPerRun,
+            @Value("${stock-notification.lease-ms:60000}") long leaseMillis
+    ) {
+        this.stockSubscriptionRepository = stockSubscriptionRepository;
+        this.stockNotificationBulkRepository = stockNotificationBulkRepository;
+        this.productItemRepository = productItemRepository;
+        this.stockNotificationSender = stockNotificationSender;
+        this.transactionTemplate = transactionTemplate;
+        this.lowStockThreshold = lowStockThreshold;
+        this.batchSize = batchSize;
+        this.pageSize = pageSize;
+        this.maxPagesPerRun = maxPagesPerRun;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * 이미 구독 중이면 그대로 둔다.
+     */
+    @Transactional
+    public void subscribe(Long customerId, Long productItemId) {
+        if (!productItemRepository.existsById(productItemId)) {
+            throw new CustomException(NOT_FOUND_ITEM);
+        }
+        if (stockSubscriptionRepository.existsByProductItemIdAndCustomerId(productItemId, customerId)) {
+            return;
+        }
+        try {
+            stockSubscriptionRepository.saveAndFlush(StockSubscription.builder()
+                    .productItemId(productItemId)
+                    .customerId(customerId)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 구독이 동시에 들어왔다.
+            log.debug("stock subscription already exists - customer: {}, item: {}", customerId, productItemId);
+        }
+    }
+
+    @Transactional
+    public void unsubscribe(Long customerId, Long productItemId) {
+        stockSubscriptionRepository.deleteByProductItemIdAndCustomerId(productItemId, customerId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        Map<Long, StockNotificationType> candidates = new LinkedHashMap<>();
+        for (StockChangedEvent.Change change : event.getChanges()) {
+            StockNotificationType type = StockNotificationType.of(
+                    change.getOldCount(), change.getNewCount(), lowStockThreshold);
+            if (type != null) {
+                candidates.put(change.getProductItemId(), type);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<Long> subscribed = new HashSet<>();
+        List<Long> ids = new ArrayList<>(candidates.keySet());
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            subscribed.addAll(stockNotificationBulkRepository.findSubscribedItemIds(
+                    ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()))));
+        }
+        candidates.keySet().retainAll(subscribed);
+        if (!candidates.isEmpty()) {
+            stockNotificationBulkRepository.insertAll(candidates);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stock-notification.interval-ms:1000}")
+    public synchronized void dispatch() {
+        String owner = UUID.randomUUID().toString();
+        try {
+            List<Pending> pending = stockNotificationBulkRepository.claim(
+                    owner, batchSize, LocalDateTime.now(), leaseUntil());
+            // 같은 옵션 / 같은 종류는 가장 최근 알림만 보낸다. (재입고 뒤 품절 임박이 와도 재입고 알림은 남는다)
+            Map<String, Pending> latest = new LinkedHashMap<>();
+            List<Long> superseded = new ArrayList<>();
+            for (Pending notification : pending) {
+                Pending previous = latest.put(
+                        notification.getProductItemId() + ":" + notification.getType(), notification);
+                if (previous != null) {
+                    superseded.add(previous.getId());
+                }
+            }
+            stockNotificationBulkRepository.deleteAll(superseded);
+
+            int pages = 0;
+            for (Pending notification : latest.values()) {
+                if (pages >= maxPagesPerRun) {
+                    break;
+                }
+                pages += send(notification, owner, maxPagesPerRun - pages);
+            }
+        } catch (RuntimeException e) {
+            // 다음 주기에 마지막으로 커밋한 위치부터 다시 보낸다.
+            log.error("stock notification dispatch fail", e);
+        } finally {
+            releaseQuietly(owner);
+        }
+    }
+
+    private void releaseQuietly(String owner) {
+        try {
+            stockNotificationBulkRepository.release(owner);
+        } catch (RuntimeException e) {
+            // 점유는 lease-ms 가 지나면 풀린다.
+            log.error("stock notification release fail", e);
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plus(Duration.ofMillis(leaseMillis));
+    }
+
+    /**
+     * @return 보낸 페이지 수
+     */
+    private int send(Pending notification, String owner, int pageBudget) {
+        long productItemId = notification.getProductItemId();
+        long cursor = notification.getLastCustomerId();
+        for (int pages = 0; pages < pageBudget; pages++) {
+            if (notification.getType() == StockNotificationType.BACK_IN_STOCK && !inStock(productItemId)) {
+                log.info("stock notification dropped - item {} is out of stock again", productItemId);
+                stockNotificationBulkRepository.deleteAll(List.of(notification.getId()));
+                return pages;
+            }
+            List<Long> customerIds = stockNotificationBulkRepository.findSubscriberIds(
+                    productItemId, cursor, pageSize);
+            if (!customerIds.isEmpty()) {
+                stockNotificationSender.send(notification.getType(), productItemId, customerIds);
+                cursor = customerIds.get(customerIds.size() - 1);
+            }
+
+            boolean done = customerIds.size() < pageSize;
+            long progress = cursor;
+            Boolean owned = transactionTemplate.execute(status -> {
+                if (notification.getType() == StockNotificationType.BACK_IN_STOCK) {
+                    stockNotificationBulkRepository.deleteSubscriptions(productItemId, customerIds);
+                }
+                if (done) {
+                    stockNotificationBulkRepository.deleteAll(List.of(notification.getId()));
+                    return true;
+                }
+                return stockNotificationBulkRepository.updateProgress(
+                        notification.getId(), owner, progress, leaseUntil());
+            });
+            if (done) {
+                return pages + 1;
+            }
+            if (!Boolean.TRUE.equals(owned)) {
+                log.warn("stock notification lease lost - id: {}", notification.getId());
+                return pages + 1;
+            }
+        }
+        return pageBudget;
+    }
+
+    private boolean inStock(long productItemId) {
+        Integer count = stockNotificationBulkRepository.findItemCount(productItemId);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.zerobase.cms.order;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderApplicationTests {
+
+    @Autowired
+    private DocumentationPluginsBootstrapper documentationPluginsBootstrapper;
+
+    @Test
+    void contextLoads() {
+        // actuator 와 springfox 가 함께 떠도 문서 bootstrapper 가 기동되어야 한다.
+        assertTrue(documentationPluginsBootstrapper.isRunning());
+    }
+}
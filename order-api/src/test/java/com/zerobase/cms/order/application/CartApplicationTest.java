@@ -7,6 +7,7 @@ import com.zerobase.cms.order.domain.product.AddProductItemForm;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -14,6 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,10 +52,15 @@ class CartApplicationTest {
 
         Cart cart = cartApplication.addCart(customerId, makeAddForm(result));
         // 데이터가 잘 들어갔는지
-        assertEquals(cart.getMessages().size(), 0);
+        assertEquals(cart.getChanges().size(), 0);
+        // 요청의 가격(20000) 대신 상품 가격으로 담는다.
+        assertEquals(10000, cart.getProducts().get(0).getItems().get(0).getPrice());
 
         cart = cartApplication.getCart(customerId);
-        assertEquals(cart.getMessages().size(), 1);
+        assertEquals(cart.getChanges().size(), 0);
+        assertEquals(50000L, cart.getTotals().getTotalPrice());
+        assertEquals(5, cart.getTotals().getTotalCount());
+        assertEquals(Map.of(p.getSellerId(), 50000L), cart.getTotals().getSellerSubtotals());
         assertEquals(1, cart.getProducts().size(), "장바구니에 추가된 상품 수가 1이어야 합니다.");
         Cart.Product addedProduct = cart.getProducts().get(0);
         assertEquals(p.getId(), addedProduct.getId(), "추가된 상품의 ID가 일치해야 합니다.");
@@ -68,6 +75,31 @@ class CartApplicationTest {
         assertEquals(10000, addedItem.getPrice(), "추가된 아이템의 가격이 일치해야 합니다.");
     }
 
+    @Test
+    @DisplayName("장바구니 담기 요청의 판매자 / 이름은 무시하고 상품의 값으로 담아 판매자별 소계를 낸다")
+    void addCart_IgnoresFormSeller() {
+        // given
+        Long customerId = 101L;
+        cartApplication.clearCart(customerId);
+        Product p = productRepository.findWithProductItemsById(add_product().getId()).get();
+        AddProductCartForm form = AddProductCartForm.builder()
+                .id(p.getId())
+                .sellerId(p.getSellerId() + 999)
+                .name("다른 상품")
+                .description(p.getDescription())
+                .items(makeAddForm(p).getItems())
+                .build();
+
+        // when
+        cartApplication.addCart(customerId, form);
+        Cart cart = cartApplication.getCart(customerId);
+
+        // then
+        assertEquals(p.getSellerId(), cart.getProducts().get(0).getSellerId());
+        assertEquals(p.getName(), cart.getProducts().get(0).getName());
+        assertEquals(Map.of(p.getSellerId(), 50000L), cart.getTotals().getSellerSubtotals());
+    }
+
     AddProductCartForm makeAddForm(Product p) {
         AddProductCartForm.ProductItem productItem =
                 AddProductCartForm.ProductItem.builder()
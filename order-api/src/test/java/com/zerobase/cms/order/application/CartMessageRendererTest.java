@@ -0,0 +1,42 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartMessageRendererTest {
+
+    @Test
+    @DisplayName("변경을 요청 locale 의 문장으로 만들고, 없는 locale 은 한국어로 만든다")
+    void render_ByLocale() {
+        // given
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/cart");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        CartMessageRenderer renderer = new CartMessageRenderer(messageSource);
+
+        Cart.Product product = Cart.Product.builder().id(1L).name("나이키").build();
+        Cart.ProductItem item = Cart.ProductItem.builder().id(2L).name("270").build();
+        Cart cart = new Cart(1L);
+        cart.setChanges(List.of(
+                CartChange.item(CartChange.Type.ITEM_PRICE_CHANGED, product, item, 20000, 10000),
+                CartChange.product(CartChange.Type.PRODUCT_REMOVED, product)));
+
+        // when
+        List<String> english = renderer.render(cart, Locale.ENGLISH).getMessages();
+        List<String> korean = renderer.render(cart, Locale.JAPANESE).getMessages();
+
+        // then
+        assertEquals("The price of 270 (나이키) changed from 20,000 to 10,000.", english.get(0));
+        assertEquals("나이키 상품의 270 가격이 20,000원에서 10,000원으로 변동되었습니다.", korean.get(0));
+        assertEquals("나이키 상품이 삭제되었습니다.", korean.get(1));
+    }
+}
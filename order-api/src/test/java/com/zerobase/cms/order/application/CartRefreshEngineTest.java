@@ -0,0 +1,125 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartChange;
+import com.zerobase.cms.order.domain.redis.ProductSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartRefreshEngineTest {
+
+    @Test
+    @DisplayName("없어진 상품/옵션은 지우고 가격과 수량은 스냅샷에 맞춘다")
+    void refresh_RemovesAndUpdates() {
+        // given
+        Cart cart = new Cart(1L);
+        cart.setProducts(new ArrayList<>(List.of(
+                product(1L, "삭제상품", item(11L, "옵션A", 1, 1000)),
+                product(2L, "변경상품", item(21L, "옵션A", 5, 1000), item(22L, "옵션B", 1, 1000),
+                        item(23L, "옵션C", 1, 1000)),
+                product(3L, "품절상품", item(31L, "옵션A", 1, 1000)),
+                product(4L, "그대로", item(41L, "옵션A", 1, 1000)))));
+        Map<Long, ProductSnapshot> snapshots = Map.of(
+                2L, snapshot(2L, snapshotItem(21L, 2000, 3), snapshotItem(23L, 1000, 10)),
+                3L, snapshot(3L, snapshotItem(39L, 1000, 10)),
+                4L, snapshot(4L, snapshotItem(41L, 1000, 10)));
+        Map<Long, Long> versions = Map.of(1L, 1L, 2L, 1L, 3L, 1L, 4L, 1L);
+
+        // when
+        new CartRefreshEngine().refresh(cart, snapshots, versions);
+
+        // then
+        assertEquals(2, cart.getProducts().size());
+        Cart.Product changed = cart.getProducts().get(0);
+        assertEquals(2L, changed.getId());
+        assertEquals(2, changed.getItems().size());
+        assertEquals(2000, changed.getItems().get(0).getPrice());
+        assertEquals(3, changed.getItems().get(0).getCount());
+        assertEquals(23L, changed.getItems().get(1).getId());
+        assertEquals(4L, cart.getProducts().get(1).getId());
+
+        assertEquals(List.of(
+                CartChange.Type.PRODUCT_REMOVED,
+                CartChange.Type.ITEM_PRICE_CHANGED,
+                CartChange.Type.ITEM_COUNT_CAPPED,
+                CartChange.Type.ITEM_REMOVED,
+                CartChange.Type.PRODUCT_UNAVAILABLE
+        ), cart.getChanges().stream().map(CartChange::getType).collect(Collectors.toList()));
+        CartChange countCapped = cart.getChanges().get(2);
+        assertEquals(21L, countCapped.getItemId());
+        assertEquals(5, countCapped.getOldValue());
+        assertEquals(3, countCapped.getNewValue());
+        assertEquals(Map.of(2L, 1L, 4L, 1L), cart.getProductVersions());
+    }
+
+    @Test
+    @DisplayName("확인한 버전과 같은 상품은 건너뛴다")
+    void refresh_SkipsValidatedVersion() {
+        // given
+        Cart cart = new Cart(1L);
+        cart.setProducts(new ArrayList<>(List.of(product(1L, "상품", item(11L, "옵션A", 1, 1000)))));
+        cart.getProductVersions().put(1L, 3L);
+
+        // when
+        new CartRefreshEngine().refresh(cart, Map.of(), Map.of(1L, 3L));
+
+        // then
+        assertEquals(1, cart.getProducts().size());
+        assertTrue(cart.getChanges().isEmpty());
+    }
+
+    @Test
+    @DisplayName("옵션이 많아도 long key 맵으로 모두 찾는다")
+    void refresh_ManyItems() {
+        // given
+        List<Cart.ProductItem> items = new ArrayList<>();
+        List<ProductSnapshot.Item> snapshotItems = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            items.add(item(id * 1_000_003L, "옵션" + id, 1, 1000));
+            snapshotItems.add(snapshotItem(id * 1_000_003L, 1000, 10));
+        }
+        Cart cart = new Cart(1L);
+        Cart.Product product = product(1L, "상품");
+        product.setItems(items);
+        cart.setProducts(new ArrayList<>(List.of(product)));
+        ProductSnapshot snapshot = snapshot(1L);
+        snapshot.setItems(snapshotItems);
+
+        // when
+        new CartRefreshEngine().refresh(cart, Map.of(1L, snapshot), Map.of(1L, 1L));
+
+        // then
+        assertEquals(300, cart.getProducts().get(0).getItems().size());
+        assertTrue(cart.getChanges().isEmpty());
+    }
+
+    private static Cart.Product product(Long id, String name, Cart.ProductItem... items) {
+        return Cart.Product.builder()
+                .id(id)
+                .name(name)
+                .items(new ArrayList<>(List.of(items)))
+                .build();
+    }
+
+    private static Cart.ProductItem item(Long id, String name, int count, int price) {
+        return Cart.ProductItem.builder().id(id).name(name).count(count).price(price).build();
+    }
+
+    private static ProductSnapshot snapshot(Long id, ProductSnapshot.Item... items) {
+        return ProductSnapshot.builder()
+                .id(id)
+                .items(new ArrayList<>(List.of(items)))
+                .build();
+    }
+
+    private static ProductSnapshot.Item snapshotItem(Long id, int price, int count) {
+        return ProductSnapshot.Item.builder().id(id).price(price).count(count).build();
+    }
+}
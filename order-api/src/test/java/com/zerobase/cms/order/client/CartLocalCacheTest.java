@@ -0,0 +1,63 @@
+package com.zerobase.cms.order.client;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartLocalCacheTest {
+
+    @Test
+    @DisplayName("저장한 뒤 원본을 고쳐도 캐시 값은 바뀌지 않는다")
+    void put_StoresCopy() {
+        // given
+        CartLocalCache cache = new CartLocalCache(true, 60_000, 10);
+        Cart cart = cart(1L);
+
+        // when
+        cache.put(1L, "3", cart);
+        cart.getProducts().get(0).getItems().get(0).setCount(99);
+
+        // then
+        CartLocalCache.Entry entry = cache.get(1L);
+        assertEquals("3", entry.getVersion());
+        assertEquals(1, entry.getCart().getProducts().get(0).getItems().get(0).getCount());
+    }
+
+    @Test
+    @DisplayName("ttl 이 지나거나 max-size 를 넘으면 버린다")
+    void get_ExpiredOrEvicted() throws InterruptedException {
+        // given
+        CartLocalCache expiring = new CartLocalCache(true, 1, 10);
+        CartLocalCache small = new CartLocalCache(true, 60_000, 2);
+
+        // when
+        expiring.put(1L, "1", cart(1L));
+        Thread.sleep(5);
+        small.put(1L, "1", cart(1L));
+        small.put(2L, "1", cart(2L));
+        small.get(1L);
+        small.put(3L, "1", cart(3L));
+
+        // then
+        assertNull(expiring.get(1L));
+        assertNotNull(small.get(1L));
+        assertNull(small.get(2L));
+        assertNotNull(small.get(3L));
+    }
+
+    private static Cart cart(Long customerId) {
+        Cart cart = new Cart(customerId);
+        cart.setProducts(new ArrayList<>(List.of(Cart.Product.builder()
+                .id(1L)
+                .name("상품")
+                .items(new ArrayList<>(List.of(Cart.ProductItem.builder()
+                        .id(1L).name("옵션").count(1).price(1000).build())))
+                .build())));
+        return cart;
+    }
+}
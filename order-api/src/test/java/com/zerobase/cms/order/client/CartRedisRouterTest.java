@@ -0,0 +1,109 @@
+package com.zerobase.cms.order.client;
+
+import com.zerobase.cms.order.config.OrderMetrics;
+import com.zerobase.cms.order.domain.redis.Cart;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.embedded.RedisServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartRedisRouterTest {
+    private static final int[] PORTS = {16390, 16391, 16392};
+
+    private final List<RedisServer> servers = new ArrayList<>();
+    private final List<LettuceConnectionFactory> factories = new ArrayList<>();
+    private final List<CartRedisRouter.Shard> shards = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int port : PORTS) {
+            RedisServer server = new RedisServer(port);
+            server.start();
+            servers.add(server);
+
+            LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                    new RedisStandaloneConfiguration("localhost", port));
+            factory.afterPropertiesSet();
+            factories.add(factory);
+
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(factory);
+            template.setKeySerializer(new StringRedisSerializer());
+            template.setValueSerializer(new StringRedisSerializer());
+            template.afterPropertiesSet();
+            ReactiveStringRedisTemplate reactiveTemplate = new ReactiveStringRedisTemplate(factory);
+            shards.add(new CartRedisRouter.Shard("localhost:" + port, template, reactiveTemplate, reactiveTemplate));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        factories.forEach(LettuceConnectionFactory::destroy);
+        servers.forEach(RedisServer::stop);
+    }
+
+    @Test
+    @DisplayName("여러 노드에 나누어 저장하고 한 번에 읽기")
+    void putAllAndGetAll_AcrossShards() {
+        // given
+        CartRedisRouter router = new CartRedisRouter(shards, false, List.of());
+        CartKeyPolicy policy = new CartKeyPolicy(30, false, false);
+        RedisClient redisClient = new RedisClient(router, new OrderMetrics(new SimpleMeterRegistry()), policy);
+
+        Map<Long, Cart> carts = new HashMap<>();
+        LongStream.rangeClosed(1, 300).forEach(id -> carts.put(id, new Cart(id)));
+
+        // when
+        redisClient.putAll(carts);
+        Map<Long, Cart> loaded = redisClient.getAll(carts.keySet(), Cart.class);
+
+        // then
+        assertEquals(300, loaded.size());
+        assertEquals(42L, loaded.get(42L).getCustomerId());
+        for (CartRedisRouter.Shard shard : shards) {
+            int stored = 0;
+            for (Long id : carts.keySet()) {
+                boolean exists = Boolean.TRUE.equals(shard.getRedisTemplate().hasKey(policy.cartKey(id)));
+                assertEquals(router.shard(policy.cartKey(id)) == shard, exists);
+                stored += exists ? 1 : 0;
+            }
+            assertTrue(stored > 0, shard + " 에 저장된 장바구니가 없습니다.");
+        }
+    }
+
+    @Test
+    @DisplayName("노드가 추가되어도 일부 key 만 옮겨진다")
+    void addShard_MovesOnlyPartOfKeys() {
+        // given
+        CartRedisRouter before = new CartRedisRouter(shards.subList(0, 2), false, List.of());
+        CartRedisRouter after = new CartRedisRouter(shards, false, List.of());
+        List<String> keys = LongStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> "cart:{" + id + "}")
+                .collect(Collectors.toList());
+
+        // when
+        long moved = keys.stream().filter(key -> before.shard(key) != after.shard(key)).count();
+
+        // then
+        // 이상적으로는 1/3
+        assertTrue(moved > 2_000 && moved < 4_700, "moved: " + moved);
+        // hash tag 가 같으면 같은 노드
+        assertSame(after.shard("cart:{42}"), after.shard("{42}"));
+    }
+}
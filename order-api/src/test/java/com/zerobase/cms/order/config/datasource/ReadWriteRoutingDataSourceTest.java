@@ -0,0 +1,129 @@
+package com.zerobase.cms.order.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// primary / replica 역할의 H2 메모리 DB 두 개로 라우팅만 확인한다. (복제는 heartbeat 를 직접 옮겨 흉내낸다)
+class ReadWriteRoutingDataSourceTest {
+    private static final String SESSION = "seller-token";
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        monitor = new ReplicaLagMonitor(primary, replica, 60_000);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(new PrimaryPin(60_000, 100), monitor);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PrimaryPin.clear();
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 쓰기는 primary 로 가고 쓴 세션은 잠시 primary 에서 읽는다")
+    void route_ReadOnlyToReplicaAndPinAfterWrite() {
+        // given
+        replicate();
+
+        // when, then
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+        assertEquals("primary", writeTransaction.execute(status -> currentDatabase()));
+
+        PrimaryPin.bind(SESSION);
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update("update marker set name = name"));
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentDatabase()));
+
+        PrimaryPin.bind("other-token");
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("replica 가 heartbeat 를 받지 못하면 읽기 전용 트랜잭션도 primary 로 간다")
+    void route_ReplicaLagging() {
+        // given
+        monitor.check();
+
+        // when
+        monitor.check();
+
+        // then
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("replica 가 가진 heartbeat 가 오래되었으면 읽기 전용 트랜잭션도 primary 로 간다")
+    void route_ReplicaHoldsOldBeat() {
+        // given
+        replicate();
+        long oldBeat = System.currentTimeMillis() - 600_000;
+        new JdbcTemplate(replica).update("update replica_heartbeat set beat_at = ? where id = 1", oldBeat);
+
+        // when
+        monitor.check();
+
+        // then
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    // 첫 heartbeat 를 replica 로 옮긴 뒤 다시 재면 지연 없음으로 판단한다.
+    private void replicate() {
+        monitor.check();
+        Long beat = new JdbcTemplate(primary).queryForObject(
+                "select beat_at from replica_heartbeat where id = 1", Long.class);
+        new JdbcTemplate(replica).update("insert into replica_heartbeat (id, beat_at) values (1, ?)", beat);
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table marker (name varchar(20))");
+        jdbcTemplate.update("insert into marker (name) values (?)", name);
+        jdbcTemplate.execute("create table replica_heartbeat (id bigint primary key, beat_at bigint not null)");
+        return dataSource;
+    }
+}
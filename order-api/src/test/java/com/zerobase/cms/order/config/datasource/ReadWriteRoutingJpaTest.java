@@ -0,0 +1,74 @@
+package com.zerobase.cms.order.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.service.ProductSearchService;
+import com.zerobase.cms.order.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+// JpaTransactionManager / Spring Data 를 거친 조회가 replica 커넥션을 쓰는지 확인한다.
+// (replica url 을 primary 와 같은 메모리 DB 로 두고, 어느 풀에서 커넥션을 꺼냈는지로 판단한다)
+@ActiveProfiles("test")
+@SpringBootTest(properties = "order.datasource.replica.url=jdbc:h2:mem:testdb")
+class ReadWriteRoutingJpaTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @MockBean
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @SpyBean(name = "replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        given(replicaLagMonitor.isReplicaUsable()).willReturn(true);
+    }
+
+    @Test
+    @DisplayName("상품 조회 서비스는 JPA 읽기 전용 트랜잭션으로 replica 에서, 등록은 primary 에서 처리한다")
+    void productSearch_ReadsFromReplica() throws SQLException {
+        // given
+        Long sellerId = 5001L;
+        clearInvocations(replicaDataSource);
+        Product product = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("복제조회상품")
+                .description("설명")
+                .items(List.of(AddProductItemForm.builder().name("옵션A").price(1000).count(1).build()))
+                .build());
+        verify(replicaDataSource, never()).getConnection();
+
+        // when, then
+        assertEquals(1, productSearchService.searchByName("복제조회상품").size());
+        verify(replicaDataSource, times(1)).getConnection();
+
+        assertEquals(1, productSearchService.getByProductId(product.getId()).getProductItems().size());
+        verify(replicaDataSource, times(2)).getConnection();
+
+        assertEquals(1, productSearchService.getListByProductIds(List.of(product.getId())).size());
+        verify(replicaDataSource, times(3)).getConnection();
+
+        assertEquals(1, productSearchService.getSellerProducts(sellerId, null, 10).getProducts().size());
+        verify(replicaDataSource, times(4)).getConnection();
+    }
+}
@@ -0,0 +1,151 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
+import com.zerobase.cms.order.domain.audit.AuditRecord;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import org.hibernate.envers.RevisionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "audit.mode=OUTBOX")
+@Transactional
+class AuditPipelineTest {
+
+    @Autowired
+    private AuditPipeline auditPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("OUTBOX - outbox 에 쌓인 변경분을 revision / _aud 테이블로 옮기고 outbox 를 비운다.")
+    void relayOutbox() {
+        //given
+        Product product = Product.builder()
+                .id(900_001L)
+                .sellerId(1L)
+                .name("audit")
+                .description("outbox")
+                .productItems(new ArrayList<>())
+                .build();
+        product.addProductItem(ProductItem.builder()
+                .id(900_002L)
+                .sellerId(1L)
+                .name("FREE")
+                .price(1000)
+                .count(1)
+                .build());
+
+        AuditChangeSet changeSet = AuditChangeSet.now();
+        changeSet.add(AuditRecord.of(product, RevisionType.ADD));
+        changeSet.add(AuditRecord.of(product.getProductItems().get(0), RevisionType.ADD));
+        auditPipeline.record(changeSet);
+
+        //when
+        auditPipeline.flush();
+
+        //then
+        assertEquals(0, count("select count(*) from audit_outbox"));
+        assertEquals(1, count("select count(*) from product_aud where id = 900001"));
+        assertEquals(1, count("select count(*) from product_item_aud where id = 900002 and product_id = 900001"));
+        assertEquals(1, count("select count(distinct rev) from product_item_aud where id = 900002"));
+    }
+
+    @Test
+    @DisplayName("한 트랜잭션에서 같은 행이 여러 번 기록되면 revision 에 한 행으로 합쳐진다.")
+    void relayOutbox_MergesSameRow() {
+        //given
+        Product product = Product.builder()
+                .id(900_011L)
+                .sellerId(1L)
+                .name("before")
+                .description("merge")
+                .productItems(new ArrayList<>())
+                .build();
+        ProductItem item = ProductItem.builder()
+                .id(900_012L)
+                .sellerId(1L)
+                .name("FREE")
+                .price(1000)
+                .count(1)
+                .build();
+        product.addProductItem(item);
+
+        AuditChangeSet changeSet = AuditChangeSet.now();
+        changeSet.add(AuditRecord.of(product, RevisionType.ADD));
+        changeSet.add(AuditRecord.of(item, RevisionType.ADD));
+        product.setName("after");
+        changeSet.add(AuditRecord.of(product, RevisionType.MOD));
+        changeSet.add(AuditRecord.of(item, RevisionType.MOD));
+        changeSet.add(AuditRecord.of(item, RevisionType.DEL));
+        auditPipeline.record(changeSet);
+
+        //when
+        auditPipeline.flush();
+
+        //then
+        assertEquals(2, changeSet.getRecords().size());
+        assertEquals(1, count("select count(*) from product_aud where id = 900011"));
+        assertEquals("after", jdbcTemplate.queryForObject(
+                "select name from product_aud where id = 900011 and revtype = 0", String.class));
+        assertEquals(1, count("select count(*) from product_item_aud where id = 900012"));
+        assertEquals(1, count("select count(*) from product_item_aud where id = 900012 and revtype = 2"));
+    }
+
+    // batch 실패 후 한 행씩 옮기는 경로는 트랜잭션마다 커밋/롤백되어야 하므로 테스트 트랜잭션 없이 돌린다.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("OUTBOX - 옮길 수 없는 행은 건너뛰고 나머지를 옮기며, 반복 실패하면 dead letter 로 뺀다.")
+    void relayOutbox_SkipsPoisonRow() {
+        //given
+        jdbcTemplate.update("insert into audit_outbox (payload, created_at, attempts, dead_letter) "
+                + "values ('not-json', current_timestamp, 0, false)");
+        Product product = Product.builder()
+                .id(900_021L)
+                .sellerId(1L)
+                .name("audit")
+                .description("poison")
+                .productItems(new ArrayList<>())
+                .build();
+        AuditChangeSet changeSet = AuditChangeSet.now();
+        changeSet.add(AuditRecord.of(product, RevisionType.ADD));
+        auditPipeline.record(changeSet);
+
+        try {
+            //when
+            auditPipeline.flush();
+
+            //then
+            assertEquals(1, count("select count(*) from product_aud where id = 900021"));
+            assertEquals(1, count("select count(*) from audit_outbox"));
+            assertEquals(1, count("select attempts from audit_outbox where payload = 'not-json'"));
+            assertNotNull(jdbcTemplate.queryForObject(
+                    "select last_error from audit_outbox where payload = 'not-json'", String.class));
+
+            for (int i = 0; i < 5; i++) {
+                auditPipeline.flush();
+            }
+            assertEquals(5, count("select attempts from audit_outbox where payload = 'not-json'"));
+            assertEquals(1, count("select count(*) from audit_outbox where dead_letter = true"));
+        } finally {
+            jdbcTemplate.update("delete from audit_outbox");
+            jdbcTemplate.update("delete from product_aud where id = 900021");
+        }
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
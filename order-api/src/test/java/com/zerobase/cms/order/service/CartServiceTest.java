@@ -3,13 +3,13 @@ package com.zerobase.cms.order.service;
 import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartChange;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +17,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -176,8 +179,8 @@ class CartServiceTest {
         );
 
         // Mocking
-        when(redisClient.get(eq(CUSTOMER_ID), eq(Cart.class))).thenReturn(null);
-        doNothing().when(redisClient).put(eq(CUSTOMER_ID), any(Cart.class));
+        when(redisClient.getStamped(eq(CUSTOMER_ID), eq(Cart.class))).thenReturn(new RedisClient.Stamped<>(null, ""));
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq(""), any(Cart.class))).thenReturn(true);
 
         // When
         Cart cart = cartService.addCart(CUSTOMER_ID, addProductCartForm);
@@ -198,8 +201,8 @@ class CartServiceTest {
         assertEquals(1, addItem.getCount());
         assertEquals(2000, addItem.getPrice());
 
-        verify(redisClient, times(1)).get(eq(CUSTOMER_ID), eq(Cart.class));
-        verify(redisClient, times(1)).put(eq(CUSTOMER_ID), any(Cart.class));
+        verify(redisClient, times(1)).getStamped(eq(CUSTOMER_ID), eq(Cart.class));
+        verify(redisClient, times(1)).compareAndPut(eq(CUSTOMER_ID), any(), any(Cart.class));
     }
 
     @Test
@@ -232,8 +235,9 @@ class CartServiceTest {
         );
 
         // Mocking
-        when(redisClient.get(eq(CUSTOMER_ID), eq(Cart.class))).thenReturn(existingCart);
-        doNothing().when(redisClient).put(eq(CUSTOMER_ID), any(Cart.class));
+        when(redisClient.getStamped(eq(CUSTOMER_ID), eq(Cart.class)))
+                .thenReturn(new RedisClient.Stamped<>(existingCart, "a"));
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("a"), any(Cart.class))).thenReturn(true);
 
         // When
         Cart cart = cartService.addCart(CUSTOMER_ID, addProductCartForm);
@@ -268,8 +272,8 @@ class CartServiceTest {
         assertEquals(1, newItem.getCount());
         assertEquals(1500, newItem.getPrice());
 
-        verify(redisClient, times(1)).get(eq(CUSTOMER_ID), eq(Cart.class));
-        verify(redisClient, times(1)).put(eq(CUSTOMER_ID), any(Cart.class));
+        verify(redisClient, times(1)).getStamped(eq(CUSTOMER_ID), eq(Cart.class));
+        verify(redisClient, times(1)).compareAndPut(eq(CUSTOMER_ID), any(), any(Cart.class));
     }
 
     @Test
@@ -301,8 +305,9 @@ class CartServiceTest {
         );
 
         // Mocking
-        when(redisClient.get(eq(CUSTOMER_ID), eq(Cart.class))).thenReturn(existingCart);
-        doNothing().when(redisClient).put(eq(CUSTOMER_ID), any(Cart.class));
+        when(redisClient.getStamped(eq(CUSTOMER_ID), eq(Cart.class)))
+                .thenReturn(new RedisClient.Stamped<>(existingCart, "a"));
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("a"), any(Cart.class))).thenReturn(true);
 
         // When
         Cart cart = cartService.addCart(CUSTOMER_ID, addProductCartForm);
@@ -322,8 +327,113 @@ class CartServiceTest {
         assertEquals("Item1", item.getName());
         assertEquals(5, item.getCount());
         assertEquals(1000, item.getPrice());
+        // 합계는 늘어난 수량만큼만 더한다.
+        assertEquals(5000L, item.getLineTotal());
+        assertEquals(5000L, cart.getTotals().getTotalPrice());
+        assertEquals(5, cart.getTotals().getTotalCount());
 
-        verify(redisClient, times(1)).get(eq(CUSTOMER_ID), eq(Cart.class));
-        verify(redisClient, times(1)).put(eq(CUSTOMER_ID), any(Cart.class));
+        verify(redisClient, times(1)).getStamped(eq(CUSTOMER_ID), eq(Cart.class));
+        verify(redisClient, times(1)).compareAndPut(eq(CUSTOMER_ID), any(), any(Cart.class));
+    }
+
+    @Test
+    @DisplayName("removeProduct - 역인덱스의 장바구니에서 삭제된 상품 제거")
+    void removeProduct_RemovesFromIndexedCarts() {
+        // Given
+        Long otherCustomerId = 2L;
+        Cart otherCart = createCart(
+                otherCustomerId,
+                createProduct(2L, SELLER_ID, "Product B", "Description B",
+                        createProductItem(2L, "Item2", 1, 2000))
+        );
+        when(redisClient.getCartIndex(eq(1L))).thenReturn(Set.of(CUSTOMER_ID, otherCustomerId));
+        when(redisClient.getAllStamped(any(), eq(Cart.class))).thenReturn(Map.of(
+                CUSTOMER_ID, new RedisClient.Stamped<>(existingCart, "a"),
+                otherCustomerId, new RedisClient.Stamped<>(otherCart, "b")));
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("a"), any(Cart.class))).thenReturn(true);
+
+        // When
+        int changed = cartService.removeProduct(1L);
+
+        // Then
+        assertEquals(1, changed);
+        assertTrue(existingCart.getProducts().isEmpty());
+        assertEquals(1, existingCart.getChanges().size());
+        assertEquals(CartChange.Type.PRODUCT_REMOVED, existingCart.getChanges().get(0).getType());
+        assertEquals(1, otherCart.getProducts().size());
+
+        verify(redisClient, never()).compareAndPut(eq(otherCustomerId), any(), any(Cart.class));
+        verify(redisClient, times(1)).deleteCartIndex(eq(1L));
+    }
+
+    @Test
+    @DisplayName("removeProduct - 다른 쓰기와 겹치면 그 장바구니만 다시 읽어 적용")
+    void removeProduct_RetriesOnConflict() {
+        // Given
+        Cart changedCart = createCart(
+                CUSTOMER_ID,
+                createProduct(1L, SELLER_ID, "Product A", "Description A",
+                        createProductItem(1L, "Item1", 3, 1000)),
+                createProduct(2L, SELLER_ID, "Product B", "Description B",
+                        createProductItem(2L, "Item2", 1, 2000))
+        );
+        when(redisClient.getCartIndex(eq(1L))).thenReturn(Set.of(CUSTOMER_ID));
+        when(redisClient.getAllStamped(eq(Set.of(CUSTOMER_ID)), eq(Cart.class)))
+                .thenReturn(Map.of(CUSTOMER_ID, new RedisClient.Stamped<>(existingCart, "a")));
+        when(redisClient.getAllStamped(eq(List.of(CUSTOMER_ID)), eq(Cart.class)))
+                .thenReturn(Map.of(CUSTOMER_ID, new RedisClient.Stamped<>(changedCart, "b")));
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("a"), any(Cart.class))).thenReturn(false);
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("b"), any(Cart.class))).thenReturn(true);
+
+        // When
+        int changed = cartService.removeProduct(1L);
+
+        // Then
+        assertEquals(1, changed);
+        // 다시 읽은 장바구니에서 빼고, 그 사이 담긴 상품은 남는다.
+        assertEquals(1, changedCart.getProducts().size());
+        assertEquals(2L, changedCart.getProducts().get(0).getId());
+        verify(redisClient, times(1)).deleteCartIndex(eq(1L));
+    }
+
+    @Test
+    @DisplayName("updateCart - 다른 쓰기와 겹치면 다시 읽어 적용")
+    void updateCart_RetriesOnConflict() {
+        // Given
+        Cart changedCart = createCart(
+                CUSTOMER_ID,
+                createProduct(1L, SELLER_ID, "Product A", "Description A",
+                        createProductItem(1L, "Item1", 7, 1000))
+        );
+        when(redisClient.getStamped(eq(CUSTOMER_ID), eq(Cart.class)))
+                .thenReturn(new RedisClient.Stamped<>(existingCart, "a"))
+                .thenReturn(new RedisClient.Stamped<>(changedCart, "b"));
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("a"), any(Cart.class))).thenReturn(false);
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("b"), any(Cart.class))).thenReturn(true);
+
+        // When
+        Cart cart = cartService.updateCart(CUSTOMER_ID,
+                c -> c.getProducts().get(0).getItems().get(0).setCount(
+                        c.getProducts().get(0).getItems().get(0).getCount() + 1));
+
+        // Then
+        assertEquals(8, cart.getProducts().get(0).getItems().get(0).getCount());
+        verify(redisClient, times(2)).getStamped(eq(CUSTOMER_ID), eq(Cart.class));
+    }
+
+    @Test
+    @DisplayName("updateCart - 계속 겹치면 CART_UPDATE_CONFLICT")
+    void updateCart_Conflict() {
+        // Given
+        when(redisClient.getStamped(eq(CUSTOMER_ID), eq(Cart.class)))
+                .thenReturn(new RedisClient.Stamped<>(existingCart, "a"));
+        when(redisClient.compareAndPut(eq(CUSTOMER_ID), eq("a"), any(Cart.class))).thenReturn(false);
+
+        // When
+        CustomException exception = assertThrows(CustomException.class,
+                () -> cartService.updateCart(CUSTOMER_ID, c -> { }));
+
+        // Then
+        assertEquals(ErrorCode.CART_UPDATE_CONFLICT, exception.getErrorCode());
     }
 }
@@ -0,0 +1,117 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.audit.AuditChangeSet;
+import com.zerobase.cms.order.domain.audit.AuditRecord;
+import com.zerobase.cms.order.domain.model.PriceHistory;
+import com.zerobase.cms.order.domain.repository.AuditRepository;
+import com.zerobase.cms.order.exception.CustomException;
+import org.hibernate.envers.RevisionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class PriceHistoryServiceTest {
+
+    @Autowired
+    private AuditRepository auditRepository;
+
+    @Autowired
+    private PriceHistoryIndexer priceHistoryIndexer;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 3, 1, 0, 0);
+
+    private static AuditChangeSet changeSet(LocalDateTime at, long itemId, RevisionType type, Integer price) {
+        List<AuditRecord> records = new ArrayList<>();
+        records.add(AuditRecord.builder()
+                .target(AuditRecord.AuditTarget.PRODUCT_ITEM)
+                .id(itemId)
+                .revisionType(type)
+                .sellerId(1L)
+                .name("item")
+                .price(price)
+                .count(1)
+                .build());
+        return new AuditChangeSet(at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), records);
+    }
+
+    @Test
+    @DisplayName("가격 이력 색인 - 가격이 바뀐 revision 만 구간으로 남는다.")
+    void indexAndQuery() {
+        //given
+        long itemId = 800_001L;
+        auditRepository.write(List.of(
+                changeSet(BASE, itemId, RevisionType.ADD, 1000),
+                changeSet(BASE.plusDays(1), itemId, RevisionType.MOD, 1000),
+                changeSet(BASE.plusDays(2), itemId, RevisionType.MOD, 1200),
+                changeSet(BASE.plusDays(3), itemId, RevisionType.MOD, 900)
+        ));
+
+        //when
+        priceHistoryIndexer.index();
+
+        //then
+        assertEquals(1000, priceHistoryService.getPriceAt(itemId, BASE.plusDays(1).plusHours(12)));
+        assertEquals(1200, priceHistoryService.getPriceAt(itemId, BASE.plusDays(2)));
+        assertEquals(900, priceHistoryService.getPriceAt(itemId, BASE.plusDays(10)));
+
+        List<PriceHistory> changes = priceHistoryService.getPriceChanges(List.of(itemId), BASE);
+        assertEquals(2, changes.size());
+        assertEquals(1000, changes.get(0).getPreviousPrice());
+        assertEquals(1200, changes.get(0).getPrice());
+        assertEquals(900, changes.get(1).getPrice());
+    }
+
+    @Test
+    @DisplayName("가격 이력 색인 - 더 작은 revision 이 늦게 커밋되어도 다음 색인에서 반영된다.")
+    void indexLateLowerRevision() {
+        //given
+        long itemId = 800_002L;
+        auditRepository.write(List.of(
+                changeSet(BASE, itemId, RevisionType.ADD, 1000),
+                changeSet(BASE.plusDays(1), itemId, RevisionType.MOD, 1200)
+        ));
+        // 작은 revision 이 아직 커밋되지 않은 상태를 흉내 낸다.
+        Long lateRev = jdbcTemplate.queryForObject(
+                "select min(rev) from product_item_aud where id = ?", Long.class, itemId);
+        Long timestamp = jdbcTemplate.queryForObject(
+                "select revision_timestamp from audit_revision where id = ?", Long.class, lateRev);
+        jdbcTemplate.update("delete from product_item_aud where rev = ?", lateRev);
+        jdbcTemplate.update("delete from audit_revision where id = ?", lateRev);
+        priceHistoryIndexer.index();
+        assertThrows(CustomException.class, () -> priceHistoryService.getPriceAt(itemId, BASE.plusHours(12)));
+
+        //when
+        jdbcTemplate.update("insert into audit_revision (id, revision_timestamp, price_indexed) values (?, ?, false)",
+                lateRev, timestamp);
+        jdbcTemplate.update("insert into product_item_aud (id, rev, revtype, seller_id, name, price, count) "
+                + "values (?, ?, ?, 1, 'item', 1000, 1)", itemId, lateRev, RevisionType.ADD.getRepresentation());
+        priceHistoryIndexer.index();
+
+        //then
+        assertEquals(1000, priceHistoryService.getPriceAt(itemId, BASE.plusHours(12)));
+        assertEquals(1200, priceHistoryService.getPriceAt(itemId, BASE.plusDays(2)));
+        List<PriceHistory> changes = priceHistoryService.getPriceChanges(List.of(itemId), BASE);
+        assertEquals(1, changes.size());
+        assertEquals(1000, changes.get(0).getPreviousPrice());
+    }
+}
@@ -0,0 +1,96 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.ProductImportFormat;
+import com.zerobase.cms.order.domain.product.ProductImportResult;
+import com.zerobase.cms.order.domain.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("CSV 대량 등록 성공 - 잘못된 행은 건너뛰고 행 번호와 함께 보고한다.")
+    void importCsv_SkipInvalidRows() {
+        //given
+        Long sellerId = 1L;
+        String csv = "product_name,description,item_name,price,count\n"
+                + "ImportA,\"신발, 운동화\",270,1000,10\n"
+                + "ImportA,\"신발, 운동화\",280,abc,5\n"
+                + "ImportA,\"신발, 운동화\",290,1000,3\n"
+                + "ImportB,모자,FREE,2000,1\n"
+                + "ImportB,모자,FREE,2000,1\n";
+
+        //when
+        ProductImportResult result = productImportService.importProducts(
+                sellerId, stream(csv), ProductImportFormat.CSV);
+
+        //then
+        assertEquals(5, result.getTotalRows());
+        assertEquals(2, result.getImportedProducts());
+        assertEquals(3, result.getImportedItems());
+        assertEquals(2, result.getFailedRows());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals(6, result.getErrors().get(1).getRow());
+
+        List<Product> products = productRepository.searchByName("ImportA");
+        assertEquals(1, products.size());
+        assertEquals("신발, 운동화", products.get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("NDJSON 대량 등록 성공")
+    void importNdjson_Success() {
+        //given
+        Long sellerId = 1L;
+        String ndjson = "{\"productName\":\"ImportC\",\"description\":\"가방\",\"itemName\":\"S\",\"price\":500,\"count\":2}\n"
+                + "{\"productName\":\"ImportC\",\"description\":\"가방\",\"itemName\":\"M\",\"price\":600,\"count\":-1}\n"
+                + "\n"
+                + "{\"productName\":\"ImportC\",\"description\":\"가방\",\"itemName\":\"L\",\"price\":700,\"count\":4}\n";
+
+        //when
+        ProductImportResult result = productImportService.importProducts(
+                sellerId, stream(ndjson), ProductImportFormat.NDJSON);
+
+        //then
+        assertEquals(1, result.getImportedProducts());
+        assertEquals(2, result.getImportedItems());
+        assertEquals(1, result.getFailedRows());
+
+        Product product = productRepository.findWithProductItemsById(
+                productRepository.searchByName("ImportC").get(0).getId()).get();
+        assertEquals(2, product.getProductItems().size());
+    }
+
+    @Test
+    @DisplayName("CSV 분리 - 따옴표 안의 쉼표와 이스케이프된 따옴표")
+    void splitCsv_Quoted() {
+        List<String> columns = ProductImportService.splitCsv("a,\"b, \"\"c\"\"\",d");
+
+        assertEquals(List.of("a", "b, \"c\"", "d"), columns);
+    }
+}
@@ -4,7 +4,9 @@ import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductForm;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.product.BulkUpdateResult;
 import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
+import com.zerobase.cms.order.domain.product.UpdateProductItemStockForm;
 import com.zerobase.cms.order.domain.repository.ProductItemRepository;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
@@ -15,7 +17,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.util.Arrays;
+import java.util.List;
 
 import static com.zerobase.cms.order.exception.ErrorCode.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +41,9 @@ class ProductItemServiceTest {
     @Autowired
     private ProductItemRepository productItemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Product creteAndSaveProduct(
             Long sellerId, String name, String description, AddProductItemForm... items
     ) {
@@ -231,4 +238,88 @@ class ProductItemServiceTest {
 
         assertEquals(NOT_FOUND_ITEM, e.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("상품 아이템 수정 실패 - 같은 상품의 다른 아이템 이름으로 변경")
+    void updateProductItem_SameItemName_ThrowsException() {
+        //given
+        Long sellerId = 1L;
+        Product product = creteAndSaveProduct(
+                sellerId,
+                "Product A",
+                "Description A",
+                AddProductItemForm.builder().name("Item1").price(1000).count(10).build(),
+                AddProductItemForm.builder().name("Item2").price(2000).count(20).build()
+        );
+        Long item2Id = product.getProductItems().get(1).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        UpdateProductItemForm updateForm = UpdateProductItemForm.builder()
+                .id(item2Id)
+                .name("Item1")
+                .price(2500)
+                .count(5)
+                .build();
+
+        //when&then
+        CustomException e = assertThrows(CustomException.class, () ->
+                productItemService.updateProductItem(sellerId, updateForm));
+
+        assertEquals(SAME_ITEM_NAME, e.getErrorCode());
+        entityManager.flush();
+        ProductItem item2 = productItemRepository.findById(item2Id).get();
+        assertEquals("Item2", item2.getName());
+        assertEquals(2000, item2.getPrice());
+    }
+
+    @Test
+    @DisplayName("상품 아이템 일괄 수정 - 다른 판매자/없는 아이템/잘못된 값은 거절하고 나머지만 반영한다.")
+    void updateProductItemStocks_RejectsNotOwned() {
+        //given
+        Long sellerId = 1L;
+        Product product = creteAndSaveProduct(
+                sellerId,
+                "Product A",
+                "Description A",
+                AddProductItemForm.builder().name("Item1").price(1000).count(10).build(),
+                AddProductItemForm.builder().name("Item2").price(2000).count(20).build()
+        );
+        Product otherProduct = creteAndSaveProduct(
+                2L,
+                "Product B",
+                "Description B",
+                AddProductItemForm.builder().name("Item1").price(1000).count(10).build()
+        );
+        Long item1 = product.getProductItems().get(0).getId();
+        Long item2 = product.getProductItems().get(1).getId();
+        Long otherItem = otherProduct.getProductItems().get(0).getId();
+
+        List<UpdateProductItemStockForm> forms = List.of(
+                UpdateProductItemStockForm.builder().id(item1).count(3).build(),
+                UpdateProductItemStockForm.builder().id(item2).price(2100).count(5).build(),
+                UpdateProductItemStockForm.builder().id(item2).price(2500).count(0).build(),
+                UpdateProductItemStockForm.builder().id(otherItem).count(0).build(),
+                UpdateProductItemStockForm.builder().id(999_999L).count(1).build(),
+                UpdateProductItemStockForm.builder().id(item1).price(-1).build()
+        );
+
+        //when
+        BulkUpdateResult result = productItemService.updateProductItemStocks(sellerId, forms);
+        entityManager.clear();
+
+        //then
+        // 같은 id 는 마지막 값만 본다. item1 은 마지막 값이 잘못되어 거절된다.
+        assertEquals(1, result.getUpdated());
+        assertEquals(3, result.getRejectedIds().size());
+        assertTrue(result.getRejectedIds().containsAll(List.of(otherItem, 999_999L, item1)));
+
+        ProductItem updated1 = productItemRepository.findById(item1).get();
+        assertEquals(1000, updated1.getPrice());
+        assertEquals(10, updated1.getCount());
+        ProductItem updated2 = productItemRepository.findById(item2).get();
+        assertEquals(2500, updated2.getPrice());
+        assertEquals(0, updated2.getCount());
+        assertEquals(10, productItemRepository.findById(otherItem).get().getCount());
+    }
+}
@@ -0,0 +1,65 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.repository.ProductItemRepository;
+import com.zerobase.cms.order.domain.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "product.purge.grace-ms=0",
+        "product.purge.interval-ms=3600000"
+})
+class ProductReaperTest {
+
+    @Autowired
+    private ProductReaper productReaper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductItemRepository productItemRepository;
+
+    @Test
+    @DisplayName("삭제 요청한 상품은 바로 조회에서 빠지고, reaper 가 상품/옵션 행을 지운다")
+    void deleteProduct_SoftDeleteThenPurge() {
+        // given
+        Long sellerId = 4901L;
+        Product product = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("삭제상품")
+                .description("설명")
+                .items(List.of(
+                        AddProductItemForm.builder().name("옵션A").price(1000).count(1).build(),
+                        AddProductItemForm.builder().name("옵션B").price(2000).count(1).build()))
+                .build());
+        Long itemId = product.getProductItems().get(0).getId();
+
+        // when
+        productService.deleteProduct(sellerId, product.getId());
+
+        // then
+        assertTrue(productSearchService.getListByProductIds(List.of(product.getId())).isEmpty());
+        assertTrue(productRepository.existsById(product.getId()));
+
+        productReaper.purge();
+        assertFalse(productRepository.existsById(product.getId()));
+        assertFalse(productItemRepository.existsById(itemId));
+    }
+}
@@ -3,6 +3,8 @@ package com.zerobase.cms.order.service;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.product.AddProductForm;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.product.SellerProductPage;
+import com.zerobase.cms.order.domain.product.SellerProductSummary;
 import com.zerobase.cms.order.domain.repository.ProductItemRepository;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
@@ -257,4 +259,37 @@ class ProductSearchServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("판매자 상품 목록 - id 순 keyset 페이지와 아이템 요약")
+    void getSellerProducts_Keyset() {
+        //given
+        Long sellerId = 77L;
+        Product first = createAndSaveProduct(sellerId, "A", "A",
+                AddProductItemForm.builder().name("A1").price(1000).count(1).build(),
+                AddProductItemForm.builder().name("A2").price(3000).count(1).build());
+        createAndSaveProduct(sellerId, "B", "B",
+                AddProductItemForm.builder().name("B1").price(500).count(1).build());
+        Product last = createAndSaveProduct(sellerId, "C", "C",
+                AddProductItemForm.builder().name("C1").price(700).count(1).build());
+        createAndSaveProduct(78L, "other", "other",
+                AddProductItemForm.builder().name("O1").price(100).count(1).build());
+
+        //when
+        SellerProductPage page1 = productSearchService.getSellerProducts(sellerId, null, 2);
+        SellerProductPage page2 = productSearchService.getSellerProducts(sellerId, page1.getNextCursor(), 2);
+
+        //then
+        assertEquals(2, page1.getProducts().size());
+        SellerProductSummary summary = page1.getProducts().get(0);
+        assertEquals(first.getId(), summary.getId());
+        assertEquals(2, summary.getItemCount());
+        assertEquals(1000, summary.getMinPrice());
+        assertEquals(3000, summary.getMaxPrice());
+        assertNotNull(page1.getNextCursor());
+
+        assertEquals(1, page2.getProducts().size());
+        assertEquals(last.getId(), page2.getProducts().get(0).getId());
+        assertNull(page2.getNextCursor());
+    }
+}
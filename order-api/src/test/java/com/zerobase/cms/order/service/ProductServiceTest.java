@@ -8,6 +8,8 @@ import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import com.zerobase.cms.order.exception.ErrorCode;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +17,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +37,12 @@ class ProductServiceTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @DisplayName("상품 추가 성공")
     void addProduct_Success() {
@@ -293,4 +304,124 @@ class ProductServiceTest {
 
         assertEquals(ErrorCode.NOT_FOUND_ITEM, e.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("상품 추가 - 아이템 수와 무관하게 몇 번의 batch 로 저장된다.")
+    void addProduct_BatchInsert_StatementCount() {
+        //given
+        Long sellerId = 1L;
+        int itemCount = 20;
+        List<AddProductItemForm> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(AddProductItemForm.builder()
+                    .name("Item" + i)
+                    .price(1000)
+                    .count(10)
+                    .build());
+        }
+        AddProductForm form = AddProductForm.builder()
+                .name("Batch Product")
+                .description("Batch Description")
+                .items(items)
+                .build();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        Product result = productService.addProduct(sellerId, form);
+        entityManager.flush();
+
+        //then
+        // IDENTITY + 단방향 @JoinColumn 에서는 insert 21번 + update 20번 (2N+1) 이었다.
+        // product / product_item insert batch 2번 + id 블록 할당(테이블당 최대 select/insert/update 3번)
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 8, "prepared statements: " + statements);
+        assertEquals(itemCount, result.getProductItems().size());
+        assertTrue(result.getProductItems().stream()
+                .allMatch(item -> item.getProduct() == result && item.getId() != null));
+    }
+
+    @Test
+    @DisplayName("상품 수정 - 아이템 5,000개 상품의 전체 옵션을 한 번에 수정하면 이름 색인도 함께 바뀐다.")
+    void updateProduct_LargeProduct_UpdatesAllItems() {
+        //given
+        Long sellerId = 1L;
+        int itemCount = 5_000;
+        List<AddProductItemForm> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(AddProductItemForm.builder()
+                    .name("Item" + i)
+                    .price(1000)
+                    .count(10)
+                    .build());
+        }
+        Product savedProduct = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("Large Product")
+                .description("Large Description")
+                .items(items)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UpdateProductItemForm> itemForms = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            itemForms.add(UpdateProductItemForm.builder()
+                    .id(savedProduct.getProductItems().get(i).getId())
+                    .name("Updated" + i)
+                    .price(2000)
+                    .count(i)
+                    .build());
+        }
+        UpdateProductForm updateForm = UpdateProductForm.builder()
+                .id(savedProduct.getId())
+                .name("Large Product")
+                .description("Large Description")
+                .items(itemForms)
+                .build();
+
+        //when
+        Product updated = productService.updateProduct(sellerId, updateForm);
+        entityManager.flush();
+
+        //then
+        assertEquals(itemCount, updated.getProductItems().size());
+        assertTrue(updated.getItemIndex().containsName("Updated4999"));
+        assertFalse(updated.getItemIndex().containsName("Item0"));
+    }
+
+    @Test
+    @DisplayName("상품 수정 실패 - 다른 아이템과 같은 이름으로 변경")
+    void updateProduct_DuplicateItemName_ThrowsException() {
+        //given
+        Long sellerId = 1L;
+        Product savedProduct = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("Product A")
+                .description("Description A")
+                .items(Arrays.asList(
+                        AddProductItemForm.builder().name("Item1").price(1000).count(10).build(),
+                        AddProductItemForm.builder().name("Item2").price(2000).count(5).build()
+                ))
+                .build());
+
+        UpdateProductForm updateForm = UpdateProductForm.builder()
+                .id(savedProduct.getId())
+                .name("Product A")
+                .description("Description A")
+                .items(Arrays.asList(
+                        UpdateProductItemForm.builder()
+                                .id(savedProduct.getProductItems().get(1).getId())
+                                .name("Item1")
+                                .price(2000)
+                                .count(5)
+                                .build()
+                ))
+                .build();
+
+        //when&then
+        CustomException e = assertThrows(CustomException.class,
+                () -> productService.updateProduct(sellerId, updateForm));
+
+        assertEquals(ErrorCode.SAME_ITEM_NAME, e.getErrorCode());
+    }
+}
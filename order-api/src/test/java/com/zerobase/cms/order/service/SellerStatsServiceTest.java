@@ -0,0 +1,69 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.product.SellerStatsDto;
+import com.zerobase.cms.order.domain.product.UpdateProductItemStockForm;
+import com.zerobase.cms.order.domain.repository.SellerStatsBulkRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 집계는 커밋 직전에 반영되므로 테스트 트랜잭션 없이 실제로 커밋한다. (판매자 id 는 다른 테스트와 겹치지 않게)
+@ActiveProfiles("test")
+@SpringBootTest
+class SellerStatsServiceTest {
+
+    @Autowired
+    private SellerStatsService sellerStatsService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductItemService productItemService;
+
+    @Autowired
+    private SellerStatsBulkRepository sellerStatsBulkRepository;
+
+    @Test
+    @DisplayName("상품 쓰기의 증감분이 집계에 쌓이고, 재계산하면 어긋난 값을 고친다")
+    void stats_DeltaAndRecompute() {
+        // given
+        Long sellerId = 4701L;
+        Product product = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("집계상품")
+                .description("설명")
+                .items(List.of(
+                        AddProductItemForm.builder().name("옵션A").price(1000).count(10).build(),
+                        AddProductItemForm.builder().name("옵션B").price(2000).count(3).build()))
+                .build());
+        ProductItem itemA = product.getProductItems().get(0);
+
+        // when
+        productItemService.updateProductItemStocks(sellerId, List.of(
+                UpdateProductItemStockForm.builder().id(itemA.getId()).count(2).build()));
+
+        // then
+        SellerStatsDto stats = sellerStatsService.getStats(sellerId);
+        assertEquals(1, stats.getProductCount());
+        assertEquals(2, stats.getSkuCount());
+        assertEquals(5, stats.getTotalStock());
+        assertEquals(8000, stats.getStockValue());
+        assertEquals(2, stats.getLowStockCount());
+        assertFalse(sellerStatsService.recompute(sellerId));
+
+        // 저장된 값이 어긋나도 재계산으로 돌아온다.
+        sellerStatsBulkRepository.overwrite(sellerId, new SellerStatsBulkRepository.Counts());
+        assertTrue(sellerStatsService.recompute(sellerId));
+        assertEquals(8000, sellerStatsService.getStats(sellerId).getStockValue());
+    }
+}
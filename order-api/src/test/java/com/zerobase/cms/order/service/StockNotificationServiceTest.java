@@ -0,0 +1,170 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.client.StockNotificationSender;
+import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.AddProductForm;
+import com.zerobase.cms.order.domain.product.AddProductItemForm;
+import com.zerobase.cms.order.domain.product.StockNotificationType;
+import com.zerobase.cms.order.domain.product.UpdateProductItemStockForm;
+import com.zerobase.cms.order.domain.repository.StockSubscriptionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// 알림은 커밋 직전에 outbox 에 남으므로 테스트 트랜잭션 없이 실제로 커밋한다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "stock-notification.page-size=2",
+        "stock-notification.interval-ms=3600000"
+})
+class StockNotificationServiceTest {
+
+    @Autowired
+    private StockNotificationService stockNotificationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductItemService productItemService;
+
+    @Autowired
+    private StockSubscriptionRepository stockSubscriptionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private StockNotificationSender stockNotificationSender;
+
+    @Test
+    @DisplayName("재입고되면 구독자에게 페이지 단위로 알리고 구독을 지운다")
+    void dispatch_BackInStock() {
+        // given
+        Long sellerId = 4801L;
+        Product product = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("재입고상품")
+                .description("설명")
+                .items(List.of(AddProductItemForm.builder().name("옵션A").price(1000).count(0).build()))
+                .build());
+        Long itemId = product.getProductItems().get(0).getId();
+        stockNotificationService.subscribe(1L, itemId);
+        stockNotificationService.subscribe(2L, itemId);
+        stockNotificationService.subscribe(3L, itemId);
+        stockNotificationService.subscribe(3L, itemId);
+
+        productItemService.updateProductItemStocks(sellerId, List.of(
+                UpdateProductItemStockForm.builder().id(itemId).count(10).build()));
+
+        // when
+        stockNotificationService.dispatch();
+
+        // then
+        verify(stockNotificationSender).send(StockNotificationType.BACK_IN_STOCK, itemId, List.of(1L, 2L));
+        verify(stockNotificationSender).send(StockNotificationType.BACK_IN_STOCK, itemId, List.of(3L));
+        verifyNoMoreInteractions(stockNotificationSender);
+        assertFalse(stockSubscriptionRepository.existsByProductItemIdAndCustomerId(itemId, 3L));
+
+        // 보낸 알림은 outbox 에서 지워져 다시 보내지 않는다.
+        stockNotificationService.dispatch();
+        verifyNoMoreInteractions(stockNotificationSender);
+    }
+
+    @Test
+    @DisplayName("재입고 뒤 품절 임박이 같이 쌓여도 재입고 알림을 보낸다")
+    void dispatch_BackInStockThenLowStock() {
+        // given
+        Long sellerId = 4803L;
+        Product product = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("재입고임박상품")
+                .description("설명")
+                .items(List.of(AddProductItemForm.builder().name("옵션A").price(1000).count(0).build()))
+                .build());
+        Long itemId = product.getProductItems().get(0).getId();
+        stockNotificationService.subscribe(1L, itemId);
+
+        productItemService.updateProductItemStocks(sellerId, List.of(
+                UpdateProductItemStockForm.builder().id(itemId).count(10).build()));
+        productItemService.updateProductItemStocks(sellerId, List.of(
+                UpdateProductItemStockForm.builder().id(itemId).count(3).build()));
+
+        // when
+        stockNotificationService.dispatch();
+
+        // then
+        verify(stockNotificationSender).send(StockNotificationType.BACK_IN_STOCK, itemId, List.of(1L));
+        assertFalse(stockSubscriptionRepository.existsByProductItemIdAndCustomerId(itemId, 1L));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from stock_notification where product_item_id = ?", Integer.class, itemId));
+    }
+
+    @Test
+    @DisplayName("보내기 전에 다시 품절되면 재입고 알림을 보내지 않고 구독을 남긴다")
+    void dispatch_BackInStockButSoldOutAgain() {
+        // given
+        Long sellerId = 4804L;
+        Product product = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("재품절상품")
+                .description("설명")
+                .items(List.of(AddProductItemForm.builder().name("옵션A").price(1000).count(0).build()))
+                .build());
+        Long itemId = product.getProductItems().get(0).getId();
+        stockNotificationService.subscribe(1L, itemId);
+
+        productItemService.updateProductItemStocks(sellerId, List.of(
+                UpdateProductItemStockForm.builder().id(itemId).count(10).build()));
+        productItemService.updateProductItemStocks(sellerId, List.of(
+                UpdateProductItemStockForm.builder().id(itemId).count(0).build()));
+
+        // when
+        stockNotificationService.dispatch();
+
+        // then
+        verify(stockNotificationSender, never()).send(any(), eq(itemId), any());
+        assertTrue(stockSubscriptionRepository.existsByProductItemIdAndCustomerId(itemId, 1L));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from stock_notification where product_item_id = ?", Integer.class, itemId));
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 점유 중인 알림은 점유가 끝날 때까지 보내지 않는다")
+    void dispatch_SkipsClaimedByOther() {
+        // given
+        Long sellerId = 4802L;
+        Product product = productService.addProduct(sellerId, AddProductForm.builder()
+                .name("점유상품")
+                .description("설명")
+                .items(List.of(AddProductItemForm.builder().name("옵션A").price(1000).count(0).build()))
+                .build());
+        Long itemId = product.getProductItems().get(0).getId();
+        stockNotificationService.subscribe(1L, itemId);
+
+        productItemService.updateProductItemStocks(sellerId, List.of(
+                UpdateProductItemStockForm.builder().id(itemId).count(10).build()));
+        jdbcTemplate.update("update stock_notification set claimed_by = 'other', claimed_until = ? "
+                + "where product_item_id = ?", Timestamp.valueOf(LocalDateTime.now().plusMinutes(1)), itemId);
+
+        // when
+        stockNotificationService.dispatch();
+
+        // then
+        verify(stockNotificationSender, never()).send(any(), eq(itemId), any());
+
+        // 점유가 끝나면 가져가서 보낸다.
+        jdbcTemplate.update("update stock_notification set claimed_until = ? where product_item_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), itemId);
+        stockNotificationService.dispatch();
+        verify(stockNotificationSender).send(StockNotificationType.BACK_IN_STOCK, itemId, List.of(1L));
+    }
+}
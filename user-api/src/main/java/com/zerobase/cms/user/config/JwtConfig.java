@@ -1,13 +1,14 @@
 package com.zerobase.cms.user.config;
 
 import com.zerobase.domain.config.JwtAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class JwtConfig {
     @Bean
-    public JwtAuthenticationProvider jwtAuthenticationProvider() {
-        return new JwtAuthenticationProvider();
+    public JwtAuthenticationProvider jwtAuthenticationProvider(MeterRegistry meterRegistry) {
+        return new JwtAuthenticationProvider(meterRegistry);
     }
 }
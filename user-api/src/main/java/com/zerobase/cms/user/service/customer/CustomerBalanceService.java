@@ -6,19 +6,61 @@ import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.exception.ErrorCode;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Service
-@RequiredArgsConstructor
 public class CustomerBalanceService {
 
     private final CustomerBalanceHistoryRepository customerBalanceHistoryRepository;
     private final CustomerRepository customerRepository;
+    private final MeterRegistry meterRegistry;
+    private final Timer successTimer;
+    private final Map<ErrorCode, Timer> failureTimers = new EnumMap<>(ErrorCode.class);
 
+    public CustomerBalanceService(CustomerBalanceHistoryRepository customerBalanceHistoryRepository,
+                                  CustomerRepository customerRepository,
+                                  MeterRegistry meterRegistry) {
+        this.customerBalanceHistoryRepository = customerBalanceHistoryRepository;
+        this.customerRepository = customerRepository;
+        this.meterRegistry = meterRegistry;
+        // 호출마다 builder 로 조회하지 않도록 outcome 별 Timer 를 미리 등록해 둔다.
+        this.successTimer = balanceTimer("success");
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            failureTimers.put(errorCode, balanceTimer(errorCode.name()));
+        }
+    }
+
+    private Timer balanceTimer(String outcome) {
+        return Timer.builder("balance.change")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 커밋 시간은 트랜잭션 프록시 바깥이라 포함되지 않는다.
+     */
     @Transactional(noRollbackFor = {CustomException.class})
     public CustomerBalanceHistory changeBalance(Long customerId, ChangeBalanceForm form) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timer timer = successTimer;
+        try {
+            return change(customerId, form);
+        } catch (CustomException e) {
+            timer = failureTimers.get(e.getErrorCode());
+            throw e;
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    private CustomerBalanceHistory change(Long customerId, ChangeBalanceForm form) {
         CustomerBalanceHistory customerBalanceHistory =
                 customerBalanceHistoryRepository.findFirstByCustomer_IdOrderByIdDesc(customerId)
                         .orElse(CustomerBalanceHistory.builder()
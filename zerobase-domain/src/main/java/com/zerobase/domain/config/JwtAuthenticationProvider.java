@@ -7,6 +7,10 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 import java.util.Date;
 import java.util.Objects;
@@ -17,7 +21,34 @@ public class JwtAuthenticationProvider {
 
     private long tokenValidTime = 1000L * 60 * 60 * 24;
 
+    private final Timer createTimer;
+    private final Timer validateTimer;
+    private final Timer parseTimer;
+    private final Counter invalidCounter;
+
+    public JwtAuthenticationProvider() {
+        this(Metrics.globalRegistry);
+    }
+
+    public JwtAuthenticationProvider(MeterRegistry registry) {
+        createTimer = timer(registry, "create");
+        validateTimer = timer(registry, "validate");
+        parseTimer = timer(registry, "parse");
+        invalidCounter = Counter.builder("jwt.invalid").register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("jwt.operation")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
     public String createToken(String userPk, Long id, UserType userType) {
+        return createTimer.record(() -> create(userPk, id, userType));
+    }
+
+    private String create(String userPk, Long id, UserType userType) {
         Claims claims = Jwts.claims().setSubject(Aes256Util.encrypt(userPk)).setId(Aes256Util.encrypt(id.toString()));
         claims.put("roles", userType);
         Date now = new Date();
@@ -30,6 +61,14 @@ public class JwtAuthenticationProvider {
     }
 
     public boolean validateToken(String jwtToken) {
+        boolean valid = validateTimer.record(() -> validate(jwtToken));
+        if (!valid) {
+            invalidCounter.increment();
+        }
+        return valid;
+    }
+
+    private boolean validate(String jwtToken) {
         try {
             Jws<Claims> claimsJws = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(jwtToken);
             return !claimsJws.getBody().getExpiration().before(new Date());
@@ -39,6 +78,10 @@ public class JwtAuthenticationProvider {
     }
 
     public UserVo getUserVo(String token) {
+        return parseTimer.record(() -> parse(token));
+    }
+
+    private UserVo parse(String token) {
         Claims c = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
         return new UserVo(Long.valueOf(Objects.requireNonNull(Aes256Util.decrypt(c.getId()))), Aes256Util.decrypt(c.getSubject()));
     }
@@ -0,0 +1,26 @@
+package com.zerobase.domain.config;
+
+import com.zerobase.domain.common.UserType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationProviderTest {
+
+    @Test
+    void metrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(registry);
+
+        String token = provider.createToken("user@test.com", 1L, UserType.CUSTOMER);
+        assertTrue(provider.validateToken(token));
+        assertFalse(provider.validateToken("invalid"));
+        assertEquals(1L, provider.getUserVo(token).getId());
+
+        assertEquals(1, registry.get("jwt.operation").tag("operation", "create").timer().count());
+        assertEquals(2, registry.get("jwt.operation").tag("operation", "validate").timer().count());
+        assertEquals(1, registry.get("jwt.operation").tag("operation", "parse").timer().count());
+        assertEquals(1.0, registry.get("jwt.invalid").counter().count());
+    }
+}